@@ -0,0 +1,104 @@
+package com.bankmanagement.benchmarks;
+
+import com.bankmanagement.dto.CustomerDTO;
+import com.bankmanagement.model.Account;
+import com.bankmanagement.model.Customer;
+import com.bankmanagement.model.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic fixtures shaped like the rows the services and controllers handle
+ */
+public final class BenchmarkData {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * An ObjectMapper configured like the one Spring Boot builds for the controllers
+     */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    public static Customer customer(long id) {
+        Customer customer = new Customer("First" + id, "Last" + id, id + " Main Street, Springfield",
+                "+1-555-" + (1000000 + id), "customer" + id + "@example.com", LocalDate.of(1970, 1, 1).plusDays(id % 15000));
+        customer.setCustomerId(id);
+        customer.setCreatedAt(BASE_TIME.plusMinutes(id));
+        return customer;
+    }
+
+    public static CustomerDTO customerDTO(long id) {
+        return new CustomerDTO(id, "First" + id, "Last" + id, id + " Main Street, Springfield",
+                "+1-555-" + (1000000 + id), "customer" + id + "@example.com",
+                LocalDate.of(1970, 1, 1).plusDays(id % 15000), true, BASE_TIME.toLocalDate());
+    }
+
+    public static Account account(long id, Random random) {
+        Account account = new Account(1 + id / 3, String.format("ACC%010d", id),
+                Account.AccountType.values()[(int) (id % 3)], balance(random), new BigDecimal("0.0250"),
+                Account.AccountStatus.ACTIVE);
+        account.setAccountId(id);
+        account.setCreatedAt(BASE_TIME.plusMinutes(id));
+        return account;
+    }
+
+    public static Transaction transaction(long id, Random random) {
+        Transaction.TransactionType type = Transaction.TransactionType.values()[random.nextInt(4)];
+        Long destinationAccountId = type == Transaction.TransactionType.TRANSFER ? 1L + random.nextInt(10000) : null;
+        Transaction transaction = new Transaction(1L + random.nextInt(10000), type, amount(random),
+                "Benchmark " + type.name().toLowerCase(), destinationAccountId);
+        transaction.setTransactionId(id);
+        transaction.setTransactionDate(BASE_TIME.plusSeconds(id));
+        return transaction;
+    }
+
+    /**
+     * Rows in the shape returned by AccountRepository.findAllAccountsAsMap
+     */
+    public static List<Map<String, Object>> accountRows(int count, long seed) {
+        Random random = new Random(seed);
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            rows.add(accountRow(account(id, random)));
+        }
+        return rows;
+    }
+
+    public static Map<String, Object> accountRow(Account account) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("accountId", account.getAccountId());
+        row.put("customerId", account.getCustomerId());
+        row.put("accountNumber", account.getAccountNumber());
+        row.put("accountType", account.getAccountType());
+        row.put("balance", account.getBalance());
+        row.put("interestRate", account.getInterestRate());
+        row.put("status", account.getStatus());
+        row.put("createdAt", account.getCreatedAt());
+        return row;
+    }
+
+    public static BigDecimal balance(Random random) {
+        return BigDecimal.valueOf(random.nextLong(100, 5_000_000), 2);
+    }
+
+    public static BigDecimal amount(Random random) {
+        return BigDecimal.valueOf(random.nextLong(1, 100_000), 2);
+    }
+}
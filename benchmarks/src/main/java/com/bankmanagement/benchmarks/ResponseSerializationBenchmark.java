@@ -0,0 +1,62 @@
+package com.bankmanagement.benchmarks;
+
+import com.bankmanagement.dto.CustomerDTO;
+import com.bankmanagement.model.Account;
+import com.bankmanagement.model.Transaction;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the single-entity responses, which the controllers return
+ * as the bare entity or DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectWriter writer;
+    private Account account;
+    private Transaction transaction;
+    private CustomerDTO customer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(3);
+        writer = BenchmarkData.objectMapper().writer();
+        account = BenchmarkData.account(42, random);
+        transaction = BenchmarkData.transaction(42, random);
+        customer = BenchmarkData.customerDTO(42);
+    }
+
+    @Benchmark
+    public byte[] account() throws JsonProcessingException {
+        return writer.writeValueAsBytes(account);
+    }
+
+    @Benchmark
+    public byte[] transaction() throws JsonProcessingException {
+        return writer.writeValueAsBytes(transaction);
+    }
+
+    @Benchmark
+    public byte[] customer() throws JsonProcessingException {
+        return writer.writeValueAsBytes(customer);
+    }
+}
@@ -0,0 +1,89 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.benchmarks.BenchmarkData;
+import com.bankmanagement.model.Account;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Map-based account listing from findAllAccountsAsMap: building the rows, folding
+ * in unfolded slot balances through ShardedBalanceService, and writing the list out as
+ * the controller response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountProjectionBenchmark {
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private List<Account> accounts;
+    private List<Map<String, Object>> projected;
+    private Map<Long, BigDecimal> unfolded;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        accounts = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            accounts.add(BenchmarkData.account(id, random));
+        }
+        projected = BenchmarkData.accountRows(rows, 11);
+        // A few hot accounts carry slot balances
+        unfolded = new HashMap<>();
+        for (long id = 1; id <= rows; id += 100) {
+            unfolded.put(id, BenchmarkData.amount(random));
+        }
+        ObjectMapper objectMapper = BenchmarkData.objectMapper();
+        writer = objectMapper.writer();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> project() {
+        List<Map<String, Object>> result = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            result.add(BenchmarkData.accountRow(account));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> withEffectiveBalances() {
+        return ShardedBalanceService.withUnfolded(projected, unfolded);
+    }
+
+    @Benchmark
+    public byte[] serializeRows() throws JsonProcessingException {
+        return writer.writeValueAsBytes(projected);
+    }
+
+    @Benchmark
+    public byte[] serializeEntities() throws JsonProcessingException {
+        return writer.writeValueAsBytes(accounts);
+    }
+}
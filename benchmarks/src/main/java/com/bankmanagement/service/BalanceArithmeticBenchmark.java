@@ -0,0 +1,77 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.benchmarks.BenchmarkData;
+import com.bankmanagement.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BigDecimal arithmetic applied by TransactionService.updateAccountBalance, without
+ * the repository round trips around it. Inputs cycle through a fixed pool so neither
+ * the transaction type nor the operands are constant-folded.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BalanceArithmeticBenchmark {
+
+    private static final int POOL_SIZE = 1024;
+
+    private final Transaction.TransactionType[] types = new Transaction.TransactionType[POOL_SIZE];
+    private final BigDecimal[] balances = new BigDecimal[POOL_SIZE];
+    private final BigDecimal[] amounts = new BigDecimal[POOL_SIZE];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        Transaction.TransactionType[] values = Transaction.TransactionType.values();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            types[i] = values[random.nextInt(values.length)];
+            balances[i] = BenchmarkData.balance(random);
+            amounts[i] = BenchmarkData.amount(random);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal balanceAfter() {
+        int i = next++ & (POOL_SIZE - 1);
+        return TransactionService.balanceAfter(types[i], balances[i], amounts[i]);
+    }
+
+    /**
+     * Debit of the source and credit of the destination, as posted for a transfer
+     */
+    @Benchmark
+    public BigDecimal transfer() {
+        int i = next++ & (POOL_SIZE - 1);
+        BigDecimal source = TransactionService.balanceAfter(Transaction.TransactionType.TRANSFER, balances[i], amounts[i]);
+        BigDecimal destination = balances[(i + 1) & (POOL_SIZE - 1)].add(amounts[i]);
+        return source.add(destination);
+    }
+
+    /**
+     * The available-balance check in validateTransaction, including unfolded slot balance
+     */
+    @Benchmark
+    public boolean sufficientFunds() {
+        int i = next++ & (POOL_SIZE - 1);
+        BigDecimal available = balances[i].add(amounts[(i + 1) & (POOL_SIZE - 1)]);
+        return available.compareTo(amounts[i]) >= 0;
+    }
+}
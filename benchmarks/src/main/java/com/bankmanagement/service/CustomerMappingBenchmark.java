@@ -0,0 +1,72 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.benchmarks.BenchmarkData;
+import com.bankmanagement.dto.CustomerDTO;
+import com.bankmanagement.model.Customer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CustomerService entity/DTO mapping, per row and over a listing page.
+ * Lives in the service package to reach the package-private converters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerMappingBenchmark {
+
+    @Param({"1000"})
+    private int pageSize;
+
+    private CustomerService customerService;
+    private Customer customer;
+    private CustomerDTO customerDTO;
+    private List<Customer> page;
+
+    @Setup
+    public void setUp() {
+        // The converters use no collaborators, so the bean needs no wiring
+        customerService = new CustomerService();
+        customer = BenchmarkData.customer(42);
+        customerDTO = BenchmarkData.customerDTO(42);
+        page = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            page.add(BenchmarkData.customer(id));
+        }
+    }
+
+    @Benchmark
+    public CustomerDTO convertToDTO() {
+        return customerService.convertToDTO(customer);
+    }
+
+    @Benchmark
+    public Customer convertToEntity() {
+        return customerService.convertToEntity(customerDTO);
+    }
+
+    @Benchmark
+    public List<CustomerDTO> convertPage() {
+        List<CustomerDTO> result = new ArrayList<>(page.size());
+        for (Customer each : page) {
+            result.add(customerService.convertToDTO(each));
+        }
+        return result;
+    }
+}
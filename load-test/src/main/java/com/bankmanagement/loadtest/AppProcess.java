@@ -0,0 +1,156 @@
+package com.bankmanagement.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application in its own JVM under the perf profile, so the generator does not share
+ * heap, GC or CPU accounting with it. It runs from the harness's own classpath, which
+ * already holds the application jar and its dependencies.
+ */
+public class AppProcess implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(AppProcess.class);
+
+    private static final String MAIN_CLASS = "com.bankmanagement.BankManagementApplication";
+
+    private final Process process;
+    private final URI baseUri;
+    private final Path logFile;
+
+    private AppProcess(Process process, URI baseUri, Path logFile) {
+        this.process = process;
+        this.baseUri = baseUri;
+        this.logFile = logFile;
+    }
+
+    /**
+     * Start the application on the database, and with read-only transactions routed to the
+     * replica when one is given
+     */
+    public static AppProcess start(EmbeddedDatabase database, EmbeddedDatabase replica, LoadTestOptions options,
+                                   String threadMode, Path outputDir)
+            throws IOException {
+        int port = freePort();
+        Path logFile = outputDir.resolve("app-" + threadMode + ".log");
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        ProcessBuilder builder = new ProcessBuilder(List.of(
+                java,
+                "-Xms" + options.getAppHeap(),
+                "-Xmx" + options.getAppHeap(),
+                "-cp", absoluteClassPath(),
+                MAIN_CLASS,
+                "--spring.profiles.active=perf",
+                "--server.port=" + port,
+                // The harness's logback.xml is on this classpath too and would win otherwise
+                "--logging.config=classpath:logback-spring.xml"));
+        // Keeps a developer's .env in the project root out of the run
+        builder.directory(outputDir.toFile());
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(logFile.toFile());
+        Map<String, String> env = builder.environment();
+        env.put("DATABASE_URL", database.getJdbcUrl());
+        env.put("DATABASE_USERNAME", database.getUsername());
+        env.put("DATABASE_PASSWORD", database.getPassword());
+        if (replica != null) {
+            env.put("REPLICA_DATABASE_URL", replica.getJdbcUrl());
+            env.put("REPLICA_DATABASE_USERNAME", replica.getUsername());
+            env.put("REPLICA_DATABASE_PASSWORD", replica.getPassword());
+        }
+        env.put("ADMIN_USERNAME", "admin");
+        env.put("ADMIN_PASSWORD", UUID.randomUUID().toString());
+        env.put("JWT_SECRET", UUID.randomUUID() + UUID.randomUUID().toString());
+        env.put("VIRTUAL_THREADS", String.valueOf("virtual".equals(threadMode)));
+        env.put("DB_POOL_SIZE", String.valueOf(options.getDbPoolSize()));
+
+        log.info("Starting application with {} threads on port {}, log in {}", threadMode, port, logFile);
+        return new AppProcess(builder.start(), URI.create("http://127.0.0.1:" + port), logFile);
+    }
+
+    public URI getBaseUri() {
+        return baseUri;
+    }
+
+    /**
+     * Poll the actuator health endpoint until the application reports UP
+     */
+    public void awaitHealthy(HttpClient client, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+        long start = System.nanoTime();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("Application exited with code " + process.exitValue() + ", see " + logFile);
+            }
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    log.info("Application healthy after {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IOException("Application not healthy after " + timeout.toSeconds() + " s, see " + logFile);
+    }
+
+    /**
+     * Save the Prometheus scrape for the server-side view of the run
+     */
+    public void saveMetrics(HttpClient client, Path target) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/actuator/prometheus")).GET().build();
+            client.send(request, HttpResponse.BodyHandlers.ofFile(target));
+        } catch (IOException e) {
+            log.warn("Could not save application metrics: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        // SIGTERM, so buffered writes (last login, outbox) get flushed
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    /**
+     * The harness classpath with relative entries resolved, as the child runs in the output directory
+     */
+    private static String absoluteClassPath() {
+        StringJoiner classPath = new StringJoiner(File.pathSeparator);
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            classPath.add(new File(entry).getAbsolutePath());
+        }
+        return classPath.toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
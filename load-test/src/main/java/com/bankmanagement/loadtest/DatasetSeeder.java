@@ -0,0 +1,66 @@
+package com.bankmanagement.loadtest;
+
+import com.bankmanagement.config.DatasetProperties;
+import com.bankmanagement.util.DatasetGenerator;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Random;
+
+/**
+ * Seeds the database with the application's own dataset generator, so the load runs against
+ * the same skewed, balance-consistent data as a generated performance database.
+ */
+public class DatasetSeeder {
+
+    /**
+     * Id ranges of the seeded data and how the generator picks from them
+     */
+    public static final class Dataset {
+        private final DatasetGenerator.Summary summary;
+        private final double hotShare;
+
+        public Dataset(DatasetGenerator.Summary summary, double hotShare) {
+            this.summary = summary;
+            this.hotShare = hotShare;
+        }
+
+        public long getFirstAccountId() {
+            return summary.getFirstAccountId();
+        }
+
+        /**
+         * The hot accounts with the most history also get hot-share of the request traffic
+         */
+        public long pickAccount(Random random) {
+            if (summary.getHotAccounts() > 0 && random.nextDouble() < hotShare) {
+                return summary.hotAccountId(random.nextInt(summary.getHotAccounts()));
+            }
+            long accounts = summary.getLastAccountId() - summary.getFirstAccountId() + 1;
+            return summary.getFirstAccountId() + (long) (random.nextDouble() * accounts);
+        }
+
+        public long pickCustomer(Random random) {
+            long customers = summary.getLastCustomerId() - summary.getFirstCustomerId() + 1;
+            return summary.getFirstCustomerId() + (long) (random.nextDouble() * customers);
+        }
+    }
+
+    private final DataSource dataSource;
+
+    public DatasetSeeder(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public Dataset seed(LoadTestOptions options) throws SQLException, InterruptedException {
+        DatasetProperties properties = new DatasetProperties();
+        properties.setCustomers(options.getCustomers());
+        properties.setAccountsPerCustomer(options.getAccountsPerCustomer());
+        properties.setTransactions((long) options.getCustomers() * options.getAccountsPerCustomer()
+                * options.getHistoryPerAccount());
+        properties.setHotAccounts(options.getHotAccounts());
+        properties.setSeed(options.getSeed());
+        properties.setThreads(Runtime.getRuntime().availableProcessors());
+        return new Dataset(new DatasetGenerator(dataSource, properties).generate(), options.getHotShare());
+    }
+}
@@ -0,0 +1,163 @@
+package com.bankmanagement.loadtest;
+
+import com.bankmanagement.config.SchemaMigrator;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A throwaway PostgreSQL server from the embedded binaries, on a random local port.
+ * The data directory is deleted on close. A second server can be started as a streaming
+ * standby of the first, for the read-replica routing.
+ *
+ * PostgreSQL refuses to run as root, so the harness has to run as a regular user.
+ */
+public class EmbeddedDatabase implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedDatabase.class);
+
+    private static final String USER = "postgres";
+    private static final String DATABASE = "postgres";
+
+    private static final String REPLICATION_SLOT = "load_test_replica";
+
+    // Server state a base backup leaves out; the standby streams its WAL from the slot instead
+    private static final Set<String> NOT_COPIED = Set.of("postmaster.pid", "postmaster.opts", "epg-lock", "pg_wal", "pg_replslot");
+
+    private final EmbeddedPostgres postgres;
+    private final Path dataDirectory;
+    private final int maxConnections;
+    // Standbys are started on a copy the embedded server does not clean up itself
+    private final boolean deleteOnClose;
+
+    private EmbeddedDatabase(EmbeddedPostgres postgres, Path dataDirectory, int maxConnections, boolean deleteOnClose) {
+        this.postgres = postgres;
+        this.dataDirectory = dataDirectory;
+        this.maxConnections = maxConnections;
+        this.deleteOnClose = deleteOnClose;
+    }
+
+    public static EmbeddedDatabase start(int maxConnections) throws IOException {
+        Path dataDirectory = Files.createTempDirectory("load-test-primary");
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setDataDirectory(dataDirectory)
+                .setServerConfig("max_connections", String.valueOf(maxConnections))
+                .setServerConfig("shared_buffers", "256MB")
+                .start();
+        log.info("Embedded PostgreSQL listening on port {}", postgres.getPort());
+        return new EmbeddedDatabase(postgres, dataDirectory, maxConnections, false);
+    }
+
+    /**
+     * Start a hot standby of this server from a base backup taken with the low-level backup
+     * functions (the embedded binaries have no pg_basebackup). A physical replication slot
+     * keeps the WAL written during the copy until the standby has streamed it.
+     */
+    public EmbeddedDatabase startReplica() throws IOException, SQLException {
+        Path replicaDirectory = Files.createTempDirectory("load-test-replica");
+        try (Connection connection = getDataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT pg_create_physical_replication_slot('" + REPLICATION_SLOT + "', true)");
+            statement.execute("SELECT pg_backup_start('load-test-replica', true)");
+            copyDataDirectory(replicaDirectory);
+            try (ResultSet rs = statement.executeQuery("SELECT labelfile FROM pg_backup_stop(false)")) {
+                rs.next();
+                Files.writeString(replicaDirectory.resolve("backup_label"), rs.getString(1));
+            }
+        }
+        Files.createDirectories(replicaDirectory.resolve("pg_wal").resolve("archive_status"));
+        Files.createDirectories(replicaDirectory.resolve("pg_replslot"));
+        Files.createFile(replicaDirectory.resolve("standby.signal"));
+        // Not passed as server options: the embedded launcher does not quote the spaces in the conninfo
+        Files.writeString(replicaDirectory.resolve("postgresql.auto.conf"),
+                "primary_conninfo = 'host=localhost port=" + postgres.getPort() + " user=" + USER + "'\n" +
+                "primary_slot_name = '" + REPLICATION_SLOT + "'\n",
+                StandardOpenOption.APPEND);
+
+        EmbeddedPostgres replica = EmbeddedPostgres.builder()
+                .setDataDirectory(replicaDirectory)
+                .setCleanDataDirectory(false)
+                // A hot standby needs at least the primary's connection limit
+                .setServerConfig("max_connections", String.valueOf(maxConnections))
+                .setServerConfig("shared_buffers", "256MB")
+                // Connections are refused until the standby has replayed the WAL written during the copy
+                .setPGStartupWait(Duration.ofMinutes(2))
+                .start();
+        log.info("Embedded PostgreSQL standby listening on port {}", replica.getPort());
+        return new EmbeddedDatabase(replica, replicaDirectory, maxConnections, true);
+    }
+
+    private void copyDataDirectory(Path target) throws IOException {
+        try (Stream<Path> files = Files.walk(dataDirectory)) {
+            files.filter(path -> !path.equals(dataDirectory))
+                    .filter(path -> !NOT_COPIED.contains(dataDirectory.relativize(path).getName(0).toString()))
+                    .forEach(path -> {
+                        Path copy = target.resolve(dataDirectory.relativize(path).toString());
+                        try {
+                            if (Files.isDirectory(path)) {
+                                Files.createDirectories(copy);
+                            } else {
+                                Files.copy(path, copy, StandardCopyOption.COPY_ATTRIBUTES);
+                            }
+                        } catch (NoSuchFileException e) {
+                            // Temporary file removed by the running server
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        }
+    }
+
+    public String getJdbcUrl() {
+        return postgres.getJdbcUrl(USER, DATABASE) + "&reWriteBatchedInserts=true";
+    }
+
+    public String getUsername() {
+        return USER;
+    }
+
+    public String getPassword() {
+        return USER;
+    }
+
+    public DataSource getDataSource() {
+        return postgres.getPostgresDatabase();
+    }
+
+    /**
+     * Apply the application's migrations. They would also run when the application starts,
+     * but the dataset is seeded before the first launch.
+     */
+    public void applySchema() throws IOException, SQLException {
+        new SchemaMigrator(getDataSource()).migrate();
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+        if (deleteOnClose) {
+            try (Stream<Path> files = Files.walk(dataDirectory)) {
+                for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+}
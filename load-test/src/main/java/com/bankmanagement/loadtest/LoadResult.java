@@ -0,0 +1,207 @@
+package com.bankmanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of one measured run: per-operation latency histograms, error counts and throughput
+ */
+public class LoadResult {
+
+    /**
+     * Result for one operation; latencies are in microseconds
+     */
+    public static final class OperationResult {
+        private final Histogram latency;
+        private final long succeeded;
+        private final long failed;
+        private final Map<String, Long> failures;
+        private final Map<String, String> failureSamples;
+
+        private OperationResult(Histogram latency, long succeeded, long failed, Map<String, Long> failures,
+                                Map<String, String> failureSamples) {
+            this.latency = latency;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.failures = failures;
+            this.failureSamples = failureSamples;
+        }
+
+        public Histogram getLatency() {
+            return latency;
+        }
+
+        public long getRequests() {
+            return succeeded + failed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public double getErrorRate() {
+            return getRequests() == 0 ? 0 : (double) failed / getRequests();
+        }
+
+        public Map<String, Long> getFailures() {
+            return failures;
+        }
+
+        /**
+         * First response body seen per failing status code
+         */
+        public Map<String, String> getFailureSamples() {
+            return failureSamples;
+        }
+
+        public double percentileMillis(double percentile) {
+            return latency.getTotalCount() == 0 ? 0 : latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        public double maxMillis() {
+            return latency.getTotalCount() == 0 ? 0 : latency.getMaxValue() / 1000.0;
+        }
+    }
+
+    private final String label;
+    private final double targetRate;
+    private final int durationSeconds;
+    private final long scheduled;
+    private final long maxScheduleLagMillis;
+    private final Map<Operation, OperationResult> operations;
+    private final OperationResult total;
+
+    private LoadResult(String label, double targetRate, int durationSeconds, long scheduled, long maxScheduleLagMillis,
+                       Map<Operation, OperationResult> operations, OperationResult total) {
+        this.label = label;
+        this.targetRate = targetRate;
+        this.durationSeconds = durationSeconds;
+        this.scheduled = scheduled;
+        this.maxScheduleLagMillis = maxScheduleLagMillis;
+        this.operations = operations;
+        this.total = total;
+    }
+
+    static LoadResult from(String label, LoadTestOptions options, Map<Operation, OpenModelLoadGenerator.OperationStats> stats,
+                           long scheduled, long maxScheduleLagMillis) {
+        Map<Operation, OperationResult> operations = new LinkedHashMap<>();
+        Histogram all = null;
+        long succeeded = 0;
+        long failed = 0;
+        Map<String, Long> allFailures = new TreeMap<>();
+        for (Map.Entry<Operation, OpenModelLoadGenerator.OperationStats> entry : stats.entrySet()) {
+            OpenModelLoadGenerator.OperationStats operationStats = entry.getValue();
+            Histogram histogram = operationStats.latencyMicros.getIntervalHistogram();
+            Map<String, Long> failures = new TreeMap<>();
+            for (Map.Entry<String, LongAdder> failure : operationStats.failures.entrySet()) {
+                failures.put(failure.getKey(), failure.getValue().sum());
+                allFailures.merge(failure.getKey(), failure.getValue().sum(), Long::sum);
+            }
+            OperationResult result = new OperationResult(histogram, operationStats.succeeded.sum(),
+                    operationStats.failed.sum(), failures, new TreeMap<>(operationStats.failureSamples));
+            operations.put(entry.getKey(), result);
+            if (all == null) {
+                all = histogram.copy();
+            } else {
+                all.add(histogram);
+            }
+            succeeded += result.succeeded;
+            failed += result.failed;
+        }
+        OperationResult total = new OperationResult(all, succeeded, failed, allFailures, Map.of());
+        return new LoadResult(label, options.getRate(), options.getDurationSeconds(), scheduled, maxScheduleLagMillis,
+                operations, total);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public OperationResult getTotal() {
+        return total;
+    }
+
+    /**
+     * Completed requests per second over the measured window, failures excluded
+     */
+    public double throughput(OperationResult result) {
+        return (double) (result.getRequests() - result.getFailed()) / durationSeconds;
+    }
+
+    public void print(PrintStream out) {
+        out.println();
+        out.printf("== %s: target %.0f req/s, %d s measured, %d arrivals, max generator lag %d ms%n",
+                label, targetRate, durationSeconds, scheduled, maxScheduleLagMillis);
+        out.printf("%-12s %9s %9s %8s %9s %9s %9s %9s %9s  %s%n",
+                "operation", "requests", "ok/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "failures");
+        for (Map.Entry<Operation, OperationResult> entry : operations.entrySet()) {
+            printRow(out, entry.getKey().getKey(), entry.getValue());
+        }
+        printRow(out, "total", total);
+        for (Map.Entry<Operation, OperationResult> entry : operations.entrySet()) {
+            entry.getValue().getFailureSamples().forEach((status, body) ->
+                    out.printf("  %s %s: %s%n", entry.getKey().getKey(), status, body));
+        }
+    }
+
+    private void printRow(PrintStream out, String name, OperationResult result) {
+        out.printf("%-12s %9d %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                name, result.getRequests(), throughput(result), result.getErrorRate() * 100,
+                result.percentileMillis(50), result.percentileMillis(90), result.percentileMillis(99),
+                result.percentileMillis(99.9), result.maxMillis(), result.getFailures().isEmpty() ? "" : result.getFailures());
+    }
+
+    /**
+     * Summary as JSON, plus one HdrHistogram percentile distribution file per operation
+     */
+    public void write(Path directory) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("label", label);
+        json.put("targetRate", targetRate);
+        json.put("durationSeconds", durationSeconds);
+        json.put("arrivals", scheduled);
+        json.put("maxGeneratorLagMillis", maxScheduleLagMillis);
+        Map<String, Object> perOperation = new LinkedHashMap<>();
+        for (Map.Entry<Operation, OperationResult> entry : operations.entrySet()) {
+            perOperation.put(entry.getKey().getKey(), summary(entry.getValue()));
+            writeDistribution(directory.resolve(label + "-" + entry.getKey().getKey() + ".hgrm"), entry.getValue());
+        }
+        json.put("operations", perOperation);
+        json.put("total", summary(total));
+        writeDistribution(directory.resolve(label + "-total.hgrm"), total);
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(directory.resolve(label + ".json").toFile(), json);
+    }
+
+    private Map<String, Object> summary(OperationResult result) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", result.getRequests());
+        summary.put("throughput", throughput(result));
+        summary.put("errors", result.getFailed());
+        summary.put("errorRate", result.getErrorRate());
+        summary.put("failures", result.getFailures());
+        summary.put("failureSamples", result.getFailureSamples());
+        summary.put("p50Millis", result.percentileMillis(50));
+        summary.put("p90Millis", result.percentileMillis(90));
+        summary.put("p99Millis", result.percentileMillis(99));
+        summary.put("p999Millis", result.percentileMillis(99.9));
+        summary.put("maxMillis", result.maxMillis());
+        return summary;
+    }
+
+    private static void writeDistribution(Path file, OperationResult result) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            // Scaled to milliseconds, loadable in the HdrHistogram plotter
+            result.getLatency().outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
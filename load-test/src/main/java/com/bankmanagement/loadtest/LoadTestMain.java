@@ -0,0 +1,93 @@
+package com.bankmanagement.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * End-to-end load test on one machine, with no external services:
+ * <ol>
+ *     <li>start an embedded PostgreSQL, apply the schema and seed a dataset; with replica=true,
+ *     also start a streaming standby of it for the application's read-only transactions</li>
+ *     <li>for each thread mode, start the application under the perf profile in its own JVM</li>
+ *     <li>drive the configured request mix at a fixed arrival rate, warm up, then measure</li>
+ *     <li>print and save throughput, latency percentiles and error rates per operation</li>
+ * </ol>
+ * All modes run against the same database, in the order given, so later modes see the
+ * transactions posted by earlier ones.
+ *
+ * {@code mvn -f load-test/pom.xml -Pperf verify -Dload.args="rate=400 duration=120 thread-modes=virtual"}
+ */
+public class LoadTestMain {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestMain.class);
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        log.info("Load test options: {}", options);
+        Path output = Paths.get(options.getOutput()).toAbsolutePath();
+        Files.createDirectories(output);
+
+        ExecutorService responseExecutor = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "load-test-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(responseExecutor)
+                .build();
+
+        List<LoadResult> results = new ArrayList<>();
+        try (EmbeddedDatabase database = EmbeddedDatabase.start(options.getDbPoolSize() * 2 + 20)) {
+            database.applySchema();
+            DatasetSeeder.Dataset dataset = new DatasetSeeder(database.getDataSource()).seed(options);
+
+            try (EmbeddedDatabase replica = options.isReplica() ? database.startReplica() : null) {
+                for (String threadMode : options.getThreadModes()) {
+                    try (AppProcess app = AppProcess.start(database, replica, options, threadMode, output)) {
+                        app.awaitHealthy(client, STARTUP_TIMEOUT);
+                        LoadResult result = new OpenModelLoadGenerator(client, app.getBaseUri(), dataset, options).run(threadMode);
+                        app.saveMetrics(client, output.resolve(threadMode + "-prometheus.txt"));
+                        result.write(output);
+                        results.add(result);
+                    }
+                }
+            }
+        } finally {
+            responseExecutor.shutdownNow();
+        }
+
+        for (LoadResult result : results) {
+            result.print(System.out);
+        }
+        if (results.size() > 1) {
+            printComparison(results);
+        }
+        log.info("Reports written to {}", output);
+    }
+
+    private static void printComparison(List<LoadResult> results) {
+        System.out.println();
+        System.out.println("== Thread mode comparison (all operations)");
+        System.out.printf("%-10s %9s %8s %9s %9s %9s %9s%n", "mode", "ok/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (LoadResult result : results) {
+            LoadResult.OperationResult total = result.getTotal();
+            System.out.printf("%-10s %9.1f %7.2f%% %9.2f %9.2f %9.2f %9.2f%n", result.getLabel(), result.throughput(total),
+                    total.getErrorRate() * 100, total.percentileMillis(50), total.percentileMillis(99),
+                    total.percentileMillis(99.9), total.maxMillis());
+        }
+    }
+}
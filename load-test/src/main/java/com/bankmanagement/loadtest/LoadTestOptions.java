@@ -0,0 +1,156 @@
+package com.bankmanagement.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Harness settings, given as {@code key=value} arguments. Unknown keys fail fast so a
+ * typo does not silently run the defaults for several minutes.
+ */
+public class LoadTestOptions {
+
+    private static final String DEFAULT_MIX = "deposit=15,withdrawal=10,transfer=10,account=20,overview=30,dashboard=15";
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    private LoadTestOptions() {
+        values.put("rate", "200");                 // arrivals per second, independent of response times
+        values.put("warmup", "20");                // seconds, not recorded
+        values.put("duration", "60");              // seconds, recorded
+        values.put("mix", DEFAULT_MIX);            // operation=weight
+        values.put("thread-modes", "platform,virtual");
+        values.put("max-outstanding", "2000");     // requests in flight before arrivals are dropped
+        values.put("request-timeout", "10");       // seconds
+        values.put("customers", "10000");
+        values.put("accounts-per-customer", "2");  // average, between 1 and twice this minus one
+        values.put("history-per-account", "10");   // average, log-normal with hot accounts on top
+        values.put("hot-accounts", "100");         // accounts receiving hot-share of the account traffic
+        values.put("hot-share", "0.3");
+        values.put("seed", "42");
+        values.put("app-heap", "1g");
+        values.put("db-pool-size", "10");
+        values.put("replica", "false");            // also start a streaming standby for read-only transactions
+        values.put("output", "load-test");         // report directory, relative to the working directory
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        List<String> tokens = new ArrayList<>();
+        for (String arg : args) {
+            // Maven passes ${load.args} as one argument
+            for (String token : arg.trim().split("\\s+")) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        for (String token : tokens) {
+            String pair = token.startsWith("--") ? token.substring(2) : token;
+            int equals = pair.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + token);
+            }
+            String key = pair.substring(0, equals);
+            if (!options.values.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown option: " + key + ", expected one of " + options.values.keySet());
+            }
+            options.values.put(key, pair.substring(equals + 1));
+        }
+        return options;
+    }
+
+    public double getRate() {
+        return Double.parseDouble(values.get("rate"));
+    }
+
+    public int getWarmupSeconds() {
+        return getInt("warmup");
+    }
+
+    public int getDurationSeconds() {
+        return getInt("duration");
+    }
+
+    /**
+     * Operation weights, in the order given
+     */
+    public Map<Operation, Integer> getMix() {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : values.get("mix").split(",")) {
+            String[] parts = entry.trim().split("=");
+            mix.put(Operation.fromKey(parts[0]), Integer.parseInt(parts[1]));
+        }
+        return mix;
+    }
+
+    public List<String> getThreadModes() {
+        List<String> modes = new ArrayList<>();
+        for (String mode : values.get("thread-modes").split(",")) {
+            String trimmed = mode.trim();
+            if (!trimmed.equals("platform") && !trimmed.equals("virtual")) {
+                throw new IllegalArgumentException("thread-modes takes platform and/or virtual, got: " + trimmed);
+            }
+            modes.add(trimmed);
+        }
+        return modes;
+    }
+
+    public int getMaxOutstanding() {
+        return getInt("max-outstanding");
+    }
+
+    public int getRequestTimeoutSeconds() {
+        return getInt("request-timeout");
+    }
+
+    public int getCustomers() {
+        return getInt("customers");
+    }
+
+    public int getAccountsPerCustomer() {
+        return getInt("accounts-per-customer");
+    }
+
+    public int getHistoryPerAccount() {
+        return getInt("history-per-account");
+    }
+
+    public int getHotAccounts() {
+        return getInt("hot-accounts");
+    }
+
+    public double getHotShare() {
+        return Double.parseDouble(values.get("hot-share"));
+    }
+
+    public long getSeed() {
+        return Long.parseLong(values.get("seed"));
+    }
+
+    public String getAppHeap() {
+        return values.get("app-heap");
+    }
+
+    public int getDbPoolSize() {
+        return getInt("db-pool-size");
+    }
+
+    public boolean isReplica() {
+        return Boolean.parseBoolean(values.get("replica"));
+    }
+
+    public String getOutput() {
+        return values.get("output");
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+
+    private int getInt(String key) {
+        return Integer.parseInt(values.get(key));
+    }
+}
@@ -0,0 +1,171 @@
+package com.bankmanagement.loadtest;
+
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests arrive on a Poisson schedule at a fixed mean rate, whether or
+ * not earlier ones have completed, the way independent users arrive. Latency is measured
+ * from each request's scheduled arrival, not from when it was actually sent, so a stalled
+ * server or a lagging generator shows up in the percentiles instead of being hidden
+ * (coordinated omission).
+ *
+ * Arrivals beyond the in-flight cap are dropped and counted as errors, which bounds the
+ * generator's own memory when the server stops keeping up.
+ */
+public class OpenModelLoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(OpenModelLoadGenerator.class);
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final int MAX_SAMPLE_LENGTH = 300;
+
+    // Bodies are only read for failed requests, the first of each kind is kept for the report
+    private static final HttpResponse.BodyHandler<String> FAILURE_BODY = responseInfo -> responseInfo.statusCode() >= 400
+            ? HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8)
+            : HttpResponse.BodySubscribers.replacing(null);
+
+    /**
+     * Recording state for one operation
+     */
+    static final class OperationStats {
+        final Recorder latencyMicros = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        final LongAdder succeeded = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+        final Map<String, String> failureSamples = new ConcurrentHashMap<>();
+
+        void fail(String reason) {
+            failed.increment();
+            failures.computeIfAbsent(reason, key -> new LongAdder()).increment();
+        }
+
+        void fail(String reason, String body) {
+            fail(reason);
+            if (body != null && !failureSamples.containsKey(reason)) {
+                failureSamples.putIfAbsent(reason, body.length() > MAX_SAMPLE_LENGTH ? body.substring(0, MAX_SAMPLE_LENGTH) : body);
+            }
+        }
+    }
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final DatasetSeeder.Dataset dataset;
+    private final LoadTestOptions options;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    public OpenModelLoadGenerator(HttpClient client, URI baseUri, DatasetSeeder.Dataset dataset, LoadTestOptions options) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.dataset = dataset;
+        this.options = options;
+        Map<Operation, Integer> mix = options.getMix();
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public LoadResult run(String label) throws InterruptedException {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : operations) {
+            stats.put(operation, new OperationStats());
+        }
+        Random random = new Random(options.getSeed());
+        Duration timeout = Duration.ofSeconds(options.getRequestTimeoutSeconds());
+        AtomicInteger outstanding = new AtomicInteger();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.getRate();
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+        long maxLagNanos = 0;
+        long scheduled = 0;
+        log.info("{}: {} s warmup, then {} s at {} req/s", label, options.getWarmupSeconds(),
+                options.getDurationSeconds(), options.getRate());
+
+        long intended = start;
+        while (intended < end) {
+            long now = System.nanoTime();
+            if (intended > now) {
+                LockSupport.parkNanos(intended - now);
+                now = System.nanoTime();
+            }
+            boolean measured = intended >= measureFrom;
+            if (measured) {
+                maxLagNanos = Math.max(maxLagNanos, now - intended);
+                scheduled++;
+            }
+            Operation operation = pick(random);
+            OperationStats operationStats = stats.get(operation);
+            if (outstanding.get() >= options.getMaxOutstanding()) {
+                if (measured) {
+                    operationStats.fail("dropped");
+                }
+            } else {
+                outstanding.incrementAndGet();
+                HttpRequest request = operation.request(baseUri, dataset, random, timeout);
+                long arrival = intended;
+                client.sendAsync(request, FAILURE_BODY)
+                        .whenComplete((response, error) -> {
+                            outstanding.decrementAndGet();
+                            if (!measured) {
+                                return;
+                            }
+                            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - arrival);
+                            operationStats.latencyMicros.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                            if (error != null) {
+                                operationStats.fail(error.getCause() instanceof HttpTimeoutException || error instanceof HttpTimeoutException
+                                        ? "timeout" : "io");
+                            } else if (response.statusCode() >= 400) {
+                                operationStats.fail(String.valueOf(response.statusCode()), response.body());
+                            } else {
+                                operationStats.succeeded.increment();
+                            }
+                        });
+            }
+            // Exponential inter-arrival times make a Poisson arrival process
+            intended += (long) (-Math.log(1 - random.nextDouble()) * meanIntervalNanos);
+        }
+
+        long drainDeadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(5);
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        if (outstanding.get() > 0) {
+            log.warn("{}: {} requests still in flight after the drain timeout", label, outstanding.get());
+        }
+        return LoadResult.from(label, options, stats, scheduled, TimeUnit.NANOSECONDS.toMillis(maxLagNanos));
+    }
+
+    private Operation pick(Random random) {
+        int ticket = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (ticket < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+}
@@ -0,0 +1,79 @@
+package com.bankmanagement.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The request types in a load mix. Account and customer ids are drawn from the seeded
+ * ranges, with a configurable share of the traffic going to a few hot accounts.
+ */
+public enum Operation {
+
+    DEPOSIT("deposit"),
+    WITHDRAWAL("withdrawal"),
+    TRANSFER("transfer"),
+    ACCOUNT("account"),
+    OVERVIEW("overview"),
+    DASHBOARD("dashboard");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key.toLowerCase(Locale.ROOT))) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+
+    public HttpRequest request(URI base, DatasetSeeder.Dataset dataset, Random random, Duration timeout) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(timeout);
+        switch (this) {
+            case DEPOSIT:
+            case WITHDRAWAL:
+            case TRANSFER:
+                return builder.uri(base.resolve("/api/transactions"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(transactionBody(dataset, random)))
+                        .build();
+            case ACCOUNT:
+                return builder.uri(base.resolve("/api/accounts/" + dataset.pickAccount(random))).GET().build();
+            case OVERVIEW:
+                return builder.uri(base.resolve("/api/customers/" + dataset.pickCustomer(random) + "/overview")).GET().build();
+            default:
+                return builder.uri(base.resolve("/api/dashboard/stats")).GET().build();
+        }
+    }
+
+    private String transactionBody(DatasetSeeder.Dataset dataset, Random random) {
+        long accountId = dataset.pickAccount(random);
+        // Cents, formatted by hand to keep the generator thread cheap
+        long cents = 100 + random.nextInt(this == DEPOSIT ? 50_000 : 5_000);
+        String amount = (cents / 100) + "." + (cents % 100 < 10 ? "0" : "") + (cents % 100);
+        StringBuilder body = new StringBuilder(160)
+                .append("{\"accountId\":").append(accountId)
+                .append(",\"transactionType\":\"").append(name())
+                .append("\",\"amount\":").append(amount)
+                .append(",\"description\":\"Load test ").append(key).append('"');
+        if (this == TRANSFER) {
+            long destination = dataset.pickAccount(random);
+            if (destination == accountId) {
+                destination = accountId == dataset.getFirstAccountId() ? accountId + 1 : accountId - 1;
+            }
+            body.append(",\"destinationAccountId\":").append(destination);
+        }
+        return body.append('}').toString();
+    }
+}
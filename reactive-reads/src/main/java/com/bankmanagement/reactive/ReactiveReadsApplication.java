@@ -0,0 +1,36 @@
+package com.bankmanagement.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Read-only companion service: streams the large listings and exports over WebFlux
+ * and R2DBC, on a small fixed number of event-loop threads. All writes stay in the
+ * main application.
+ */
+@SpringBootApplication
+public class ReactiveReadsApplication {
+
+    public static void main(String[] args) {
+        // Reuse the main application's JDBC URL unless an R2DBC URL is given
+        String r2dbcUrl = System.getenv("R2DBC_URL");
+        String databaseUrl = System.getenv("DATABASE_URL");
+        if ((r2dbcUrl == null || r2dbcUrl.isEmpty()) && databaseUrl != null) {
+            if (databaseUrl.startsWith("jdbc:")) {
+                System.setProperty("spring.r2dbc.url", "r2dbc:" + databaseUrl.substring("jdbc:".length()));
+            } else if (databaseUrl.startsWith("postgres://")) {
+                System.setProperty("spring.r2dbc.url", "r2dbc:postgresql://" + databaseUrl.substring("postgres://".length()));
+            } else if (databaseUrl.startsWith("postgresql://")) {
+                System.setProperty("spring.r2dbc.url", "r2dbc:" + databaseUrl);
+            }
+        }
+        
+        // Event-loop size; every request shares these threads
+        if (System.getProperty("reactor.netty.ioWorkerCount") == null) {
+            String workers = System.getenv("IO_WORKER_COUNT");
+            System.setProperty("reactor.netty.ioWorkerCount", workers != null && !workers.isEmpty() ? workers : "4");
+        }
+        
+        SpringApplication.run(ReactiveReadsApplication.class, args);
+    }
+}
@@ -0,0 +1,72 @@
+package com.bankmanagement.reactive.controller;
+
+import com.bankmanagement.reactive.model.AccountView;
+import com.bankmanagement.reactive.model.CustomerView;
+import com.bankmanagement.reactive.model.TransactionView;
+import com.bankmanagement.reactive.repository.AccountViewRepository;
+import com.bankmanagement.reactive.repository.CustomerViewRepository;
+import com.bankmanagement.reactive.repository.TransactionViewRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * Read-only listings, same paths and row shapes as the main application.
+ *
+ * Plain GETs return a JSON array; the /export and /statement variants return
+ * newline-delimited JSON, one row per line. Either way rows flow from the database
+ * cursor to the socket as the client reads them, so a slow client slows its own
+ * query down instead of buffering the whole result in memory.
+ */
+@RestController
+@RequestMapping("/api")
+@CrossOrigin(origins = "*")
+public class ReactiveReadController {
+
+    @Autowired
+    private CustomerViewRepository customerViewRepository;
+
+    @Autowired
+    private AccountViewRepository accountViewRepository;
+
+    @Autowired
+    private TransactionViewRepository transactionViewRepository;
+
+    @GetMapping("/customers")
+    public Flux<CustomerView> getAllCustomers() {
+        return customerViewRepository.streamAll();
+    }
+
+    @GetMapping(value = "/customers/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerView> exportCustomers() {
+        return customerViewRepository.streamAll();
+    }
+
+    @GetMapping("/accounts")
+    public Flux<AccountView> getAllAccounts(@RequestParam(required = false) Long customerId) {
+        return customerId != null
+                ? accountViewRepository.streamByCustomerId(customerId)
+                : accountViewRepository.streamAll();
+    }
+
+    @GetMapping(value = "/accounts/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AccountView> exportAccounts() {
+        return accountViewRepository.streamAll();
+    }
+
+    @GetMapping(value = "/accounts/{id}/statement", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TransactionView> getAccountStatement(@PathVariable Long id) {
+        return transactionViewRepository.streamByAccountId(id);
+    }
+
+    @GetMapping("/transactions")
+    public Flux<TransactionView> getAllTransactions() {
+        return transactionViewRepository.streamAll();
+    }
+
+    @GetMapping(value = "/transactions/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TransactionView> exportTransactions() {
+        return transactionViewRepository.streamAll();
+    }
+}
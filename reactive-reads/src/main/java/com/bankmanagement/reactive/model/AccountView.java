@@ -0,0 +1,21 @@
+package com.bankmanagement.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Account row as served by GET /api/accounts; balance includes unfolded shard slots.
+ */
+@Table("accounts")
+public record AccountView(@Id Long accountId,
+                          Long customerId,
+                          String accountNumber,
+                          String accountType,
+                          BigDecimal balance,
+                          BigDecimal interestRate,
+                          String status,
+                          OffsetDateTime createdAt) {
+}
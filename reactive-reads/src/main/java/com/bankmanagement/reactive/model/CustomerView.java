@@ -0,0 +1,22 @@
+package com.bankmanagement.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**
+ * Customer row as served by GET /api/customers.
+ */
+@Table("customers")
+public record CustomerView(@Id Long customerId,
+                           String firstName,
+                           String lastName,
+                           String address,
+                           String phone,
+                           String email,
+                           LocalDate dateOfBirth,
+                           Boolean isActive,
+                           OffsetDateTime createdAt) {
+}
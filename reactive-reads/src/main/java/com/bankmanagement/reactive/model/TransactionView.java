@@ -0,0 +1,24 @@
+package com.bankmanagement.reactive.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Transaction row with account numbers and customer names, as served by GET /api/transactions.
+ */
+@Table("transactions")
+public record TransactionView(@Id Long transactionId,
+                              Long accountId,
+                              BigDecimal amount,
+                              String transactionType,
+                              String description,
+                              OffsetDateTime transactionDate,
+                              String accountNumber,
+                              String customerName,
+                              Long destinationAccountId,
+                              String destinationAccountNumber,
+                              String destinationCustomerName) {
+}
@@ -0,0 +1,26 @@
+package com.bankmanagement.reactive.repository;
+
+import com.bankmanagement.reactive.model.AccountView;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import reactor.core.publisher.Flux;
+
+public interface AccountViewRepository extends Repository<AccountView, Long> {
+    
+    // Same effective balance as the main application: main row plus unfolded slots
+    @Query("SELECT a.account_id, a.customer_id, a.account_number, a.account_type, " +
+           "a.balance + COALESCE(s.slot_balance, 0) AS balance, a.interest_rate, a.status, a.created_at " +
+           "FROM accounts a " +
+           "LEFT JOIN (SELECT account_id, SUM(balance) AS slot_balance FROM account_balance_slots GROUP BY account_id) s " +
+           "ON s.account_id = a.account_id " +
+           "ORDER BY a.account_id")
+    Flux<AccountView> streamAll();
+    
+    @Query("SELECT a.account_id, a.customer_id, a.account_number, a.account_type, " +
+           "a.balance + COALESCE(s.slot_balance, 0) AS balance, a.interest_rate, a.status, a.created_at " +
+           "FROM accounts a " +
+           "LEFT JOIN (SELECT account_id, SUM(balance) AS slot_balance FROM account_balance_slots GROUP BY account_id) s " +
+           "ON s.account_id = a.account_id " +
+           "WHERE a.customer_id = :customerId ORDER BY a.account_id")
+    Flux<AccountView> streamByCustomerId(Long customerId);
+}
@@ -0,0 +1,13 @@
+package com.bankmanagement.reactive.repository;
+
+import com.bankmanagement.reactive.model.CustomerView;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import reactor.core.publisher.Flux;
+
+public interface CustomerViewRepository extends Repository<CustomerView, Long> {
+    
+    @Query("SELECT customer_id, first_name, last_name, address, phone, email, date_of_birth, is_active, created_at " +
+           "FROM customers ORDER BY customer_id")
+    Flux<CustomerView> streamAll();
+}
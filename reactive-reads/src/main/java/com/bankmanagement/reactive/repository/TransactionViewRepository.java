@@ -0,0 +1,27 @@
+package com.bankmanagement.reactive.repository;
+
+import com.bankmanagement.reactive.model.TransactionView;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.Repository;
+import reactor.core.publisher.Flux;
+
+public interface TransactionViewRepository extends Repository<TransactionView, Long> {
+    
+    String SELECT_WITH_NAMES =
+            "SELECT t.transaction_id, t.account_id, t.amount, t.transaction_type, t.description, t.transaction_date, " +
+            "a.account_number, CONCAT(c.first_name, ' ', c.last_name) AS customer_name, " +
+            "t.destination_account_id, da.account_number AS destination_account_number, " +
+            "CONCAT(dc.first_name, ' ', dc.last_name) AS destination_customer_name " +
+            "FROM transactions t " +
+            "LEFT JOIN accounts a ON t.account_id = a.account_id " +
+            "LEFT JOIN customers c ON a.customer_id = c.customer_id " +
+            "LEFT JOIN accounts da ON t.destination_account_id = da.account_id " +
+            "LEFT JOIN customers dc ON da.customer_id = dc.customer_id ";
+    
+    @Query(SELECT_WITH_NAMES + "ORDER BY t.transaction_date DESC")
+    Flux<TransactionView> streamAll();
+    
+    // Statement order, served by idx_transactions_account_date
+    @Query(SELECT_WITH_NAMES + "WHERE t.account_id = :accountId ORDER BY t.transaction_date")
+    Flux<TransactionView> streamByAccountId(Long accountId);
+}
@@ -0,0 +1,105 @@
+package com.bankmanagement.reactive.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Verifies {@code Authorization: Bearer} tokens issued by the main application, using
+ * the same jwt.secret. A bad token is rejected with 401; a missing one only when
+ * jwt.required is set. Verification is CPU-only and runs on the event loop.
+ */
+@Component
+public class JwtWebFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtWebFilter.class);
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    @Value("${jwt.secret:}")
+    private String secret;
+
+    @Value("${jwt.required:false}")
+    private boolean required;
+
+    private SecretKey signingKey;
+
+    @PostConstruct
+    public void init() {
+        if (secret == null || secret.isBlank()) {
+            if (required) {
+                throw new IllegalStateException("jwt.secret must be set when jwt.required is true");
+            }
+            log.warn("jwt.secret is not set; bearer tokens cannot be verified");
+            return;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        // Same stretching as the main application, so both accept the same tokens
+        signingKey = Keys.hmacShaKeyFor(bytes.length >= 32 ? bytes : sha256(bytes));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (HttpMethod.OPTIONS.equals(exchange.getRequest().getMethod())) {
+            return chain.filter(exchange);
+        }
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return required ? unauthorized(exchange, "Authentication required") : chain.filter(exchange);
+        }
+        if (signingKey == null) {
+            return unauthorized(exchange, "Invalid or expired token");
+        }
+        Claims claims;
+        try {
+            claims = Jwts.parserBuilder()
+                    .setSigningKey(signingKey)
+                    .build()
+                    .parseClaimsJws(header.substring(BEARER_PREFIX.length()).trim())
+                    .getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return unauthorized(exchange, "Invalid or expired token");
+        }
+        // Like the main application, only staff tokens are accepted
+        if (!claims.containsKey("userId")) {
+            return unauthorized(exchange, "Invalid or expired token");
+        }
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> unauthorized(ServerWebExchange exchange, String message) {
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = ("{\"success\":false,\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        DataBuffer buffer = exchange.getResponse().bufferFactory().wrap(body);
+        return exchange.getResponse().writeWith(Mono.just(buffer));
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
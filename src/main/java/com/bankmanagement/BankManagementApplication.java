@@ -3,12 +3,19 @@ package com.bankmanagement;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
+@EnableAsync
 public class BankManagementApplication {
 
+    public static final int STARTUP_STEPS = 10_000;
+
     public static void main(String[] args) {
         // Load .env file
         Dotenv dotenv = Dotenv.configure()
@@ -22,6 +29,9 @@ public class BankManagementApplication {
             System.setProperty(entry.getKey(), entry.getValue());
         });
         
-        SpringApplication.run(BankManagementApplication.class, args);
+        SpringApplication application = new SpringApplication(BankManagementApplication.class);
+        // Keeps the startup steps for /actuator/startup and the startup timeline report
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+        application.run(args);
     }
 }
@@ -0,0 +1,58 @@
+package com.bankmanagement.config;
+
+import com.bankmanagement.util.DatasetGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Generates the synthetic dataset and exits, once startup (including the schema) is done:
+ *
+ * {@code java -jar bank-management-system-1.0.0-exec.jar --spring.main.web-application-type=none
+ * --dataset.generate=true --dataset.customers=1000000 --dataset.transactions=100000000 --dataset.threads=8}
+ *
+ * Each generator thread holds a pool connection, so keep dataset.threads within the pool size.
+ * dataset.generate is read at runtime, so an AOT-processed build can run the generator too.
+ */
+@Component
+public class DatasetGeneratorCommand {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGeneratorCommand.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DatasetProperties datasetProperties;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${dataset.generate:false}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generate() {
+        if (!enabled) {
+            return;
+        }
+        int exitCode = 0;
+        try {
+            DatasetGenerator.Summary summary = new DatasetGenerator(dataSource, datasetProperties).generate();
+            log.info("Dataset ready: {}", summary.toMap());
+        } catch (Exception e) {
+            log.error("Dataset generation failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+}
@@ -0,0 +1,118 @@
+package com.bankmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+
+/**
+ * Scale and shape of the synthetic dataset, bound from {@code dataset.*}.
+ * The defaults are the small set added by the sample-data endpoint.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "dataset")
+public class DatasetProperties {
+
+    // Generate on startup and exit, see DatasetGeneratorCommand
+    private boolean generate = false;
+    private long customers = 1000;
+    // Accounts per customer vary uniformly between 1 and twice this minus one
+    private int accountsPerCustomer = 3;
+    private long transactions = 50_000;
+    // Accounts that together receive hotShare of all transactions
+    private int hotAccounts = 20;
+    private double hotShare = 0.2;
+    private long seed = 42;
+    private int threads = 4;
+    private int chunkCustomers = 1000;
+    private LocalDate historyEnd = LocalDate.of(2025, 1, 1);
+    private int historyDays = 730;
+
+    public boolean isGenerate() {
+        return generate;
+    }
+
+    public void setGenerate(boolean generate) {
+        this.generate = generate;
+    }
+
+    public long getCustomers() {
+        return customers;
+    }
+
+    public void setCustomers(long customers) {
+        this.customers = customers;
+    }
+
+    public int getAccountsPerCustomer() {
+        return accountsPerCustomer;
+    }
+
+    public void setAccountsPerCustomer(int accountsPerCustomer) {
+        this.accountsPerCustomer = accountsPerCustomer;
+    }
+
+    public long getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(long transactions) {
+        this.transactions = transactions;
+    }
+
+    public int getHotAccounts() {
+        return hotAccounts;
+    }
+
+    public void setHotAccounts(int hotAccounts) {
+        this.hotAccounts = hotAccounts;
+    }
+
+    public double getHotShare() {
+        return hotShare;
+    }
+
+    public void setHotShare(double hotShare) {
+        this.hotShare = hotShare;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    public int getChunkCustomers() {
+        return chunkCustomers;
+    }
+
+    public void setChunkCustomers(int chunkCustomers) {
+        this.chunkCustomers = chunkCustomers;
+    }
+
+    public LocalDate getHistoryEnd() {
+        return historyEnd;
+    }
+
+    public void setHistoryEnd(LocalDate historyEnd) {
+        this.historyEnd = historyEnd;
+    }
+
+    public int getHistoryDays() {
+        return historyDays;
+    }
+
+    public void setHistoryDays(int historyDays) {
+        this.historyDays = historyDays;
+    }
+}
@@ -0,0 +1,88 @@
+package com.bankmanagement.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * One JSON object per log line: timestamp, level, thread, logger, request id, the
+ * formatted message and, if present, the stack trace. Written by hand into a reused
+ * per-thread buffer; the async appender calls it from a single worker thread.
+ */
+public class JsonLineEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    @Override
+    public byte[] headerBytes() {
+        return EMPTY;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        StringBuilder json = buffers.get();
+        json.setLength(0);
+        json.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(event.getTimeStamp())).append('"');
+        json.append(",\"level\":\"").append(event.getLevel()).append('"');
+        field(json, "thread", event.getThreadName());
+        field(json, "logger", event.getLoggerName());
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            String requestId = mdc.get(RequestIdFilter.MDC_KEY);
+            if (requestId != null) {
+                field(json, "requestId", requestId);
+            }
+        }
+        field(json, "message", event.getFormattedMessage());
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            field(json, "error", ThrowableProxyUtil.asString(throwable));
+        }
+        json.append("}\n");
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        if (json.capacity() > 16384) {
+            // Do not keep a huge buffer around after one large stack trace
+            buffers.remove();
+        }
+        return bytes;
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return EMPTY;
+    }
+
+    private static void field(StringBuilder json, String name, String value) {
+        json.append(",\"").append(name).append("\":");
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
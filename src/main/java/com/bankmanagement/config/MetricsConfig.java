@@ -0,0 +1,118 @@
+package com.bankmanagement.config;
+
+import com.bankmanagement.security.JwtService;
+import com.bankmanagement.security.PasswordHashingService;
+import com.bankmanagement.security.RateLimitFilter;
+import com.bankmanagement.service.AutocompleteService;
+import com.bankmanagement.service.CustomerLoginCache;
+import com.bankmanagement.service.DashboardStreamService;
+import com.bankmanagement.service.LastLoginRecorder;
+import com.bankmanagement.service.OutboxRelay;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Application metrics on top of what Actuator binds itself (HTTP server requests,
+ * Hikari, Hibernate, JVM memory, GC and allocation). Exposes the in-process pools,
+ * caches and buffers that so far were only visible through the various /stats endpoints.
+ * Everything here is read lazily at scrape time.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder applicationMeters(PasswordHashingService passwordHashingService,
+                                         CustomerLoginCache customerLoginCache,
+                                         JwtService jwtService,
+                                         RateLimitFilter rateLimitFilter,
+                                         RateLimitProperties rateLimitProperties,
+                                         LastLoginRecorder lastLoginRecorder,
+                                         OutboxRelay outboxRelay,
+                                         DashboardStreamService dashboardStreamService,
+                                         AutocompleteService autocompleteService,
+                                         ObjectProvider<DataSource> dataSource) {
+        return registry -> {
+            new ExecutorServiceMetrics(passwordHashingService.getExecutor(), "passwordHashing", Tags.empty())
+                    .bindTo(registry);
+            FunctionCounter.builder("bank.password.hashing.rejected", passwordHashingService,
+                            PasswordHashingService::getRejectedCount)
+                    .description("Hashing requests shed because the queue was full")
+                    .register(registry);
+
+            CaffeineCacheMetrics.monitor(registry, customerLoginCache.getNativeCache(), "customerLogin");
+            CaffeineCacheMetrics.monitor(registry, jwtService.getVerifiedTokenCache(), "verifiedTokens");
+
+            Gauge.builder("bank.rate.limit.clients", rateLimitFilter, RateLimitFilter::getTrackedClients)
+                    .description("Clients with a live token bucket")
+                    .register(registry);
+            for (RateLimitProperties.Rule rule : rateLimitProperties.getRules()) {
+                String name = rule.getName();
+                FunctionCounter.builder("bank.rate.limit.rejected", rateLimitFilter, filter -> filter.getRejectedCount(name))
+                        .tag("rule", name)
+                        .register(registry);
+            }
+            Gauge.builder("bank.transactions.permits.available", rateLimitFilter, RateLimitFilter::getTransactionPermitsAvailable)
+                    .register(registry);
+            Gauge.builder("bank.transactions.permits.queued", rateLimitFilter, RateLimitFilter::getTransactionRequestsQueued)
+                    .register(registry);
+            FunctionCounter.builder("bank.transactions.shed", rateLimitFilter, RateLimitFilter::getShedTransactions)
+                    .register(registry);
+
+            Gauge.builder("bank.last.login.pending", lastLoginRecorder, LastLoginRecorder::getPendingUsers)
+                    .register(registry);
+            Gauge.builder("bank.last.login.flush.lag", lastLoginRecorder, LastLoginRecorder::getLastFlushLagMillis)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+
+            FunctionCounter.builder("bank.outbox.published", outboxRelay, OutboxRelay::getPublishedCount)
+                    .register(registry);
+            FunctionCounter.builder("bank.outbox.failed.batches", outboxRelay, OutboxRelay::getFailedBatches)
+                    .register(registry);
+            FunctionCounter.builder("bank.outbox.failed.events", outboxRelay, OutboxRelay::getFailedEvents)
+                    .register(registry);
+            FunctionCounter.builder("bank.outbox.parked", outboxRelay, OutboxRelay::getParkedCount)
+                    .register(registry);
+            Gauge.builder("bank.outbox.delivery.lag", outboxRelay, OutboxRelay::getLastDeliveryLagMillis)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+
+            Gauge.builder("bank.dashboard.stream.subscribers", dashboardStreamService, DashboardStreamService::getSubscriberCount)
+                    .register(registry);
+            FunctionCounter.builder("bank.dashboard.stream.dropped", dashboardStreamService, DashboardStreamService::getDroppedUpdates)
+                    .register(registry);
+
+            Gauge.builder("bank.autocomplete.entries", autocompleteService, AutocompleteService::getEntryCount)
+                    .register(registry);
+
+            DataSource pool = dataSource.getIfAvailable();
+            if (pool instanceof ReplicaRoutingDataSource routing) {
+                Gauge.builder("bank.db.replica.lag", routing, ReplicaRoutingDataSource::getLagMillis)
+                        .description("Replay lag at the last check, -1 while the replica is unreachable")
+                        .baseUnit("milliseconds")
+                        .register(registry);
+                FunctionCounter.builder("bank.db.replica.transactions", routing, ReplicaRoutingDataSource::getReplicaTransactions)
+                        .register(registry);
+                FunctionCounter.builder("bank.db.replica.fallbacks", routing, ReplicaRoutingDataSource::getPrimaryFallbacks)
+                        .description("Read-only transactions sent to the primary because the replica lagged or was down")
+                        .register(registry);
+                pool = routing.getPrimary();
+            }
+            // Only present in virtual-thread mode
+            if (pool instanceof ConnectionPermitDataSource permits) {
+                Gauge.builder("bank.db.permits.available", permits, ConnectionPermitDataSource::getAvailablePermits)
+                        .register(registry);
+                Gauge.builder("bank.db.permits.queued", permits, ConnectionPermitDataSource::getQueueLength)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,163 @@
+package com.bankmanagement.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-route rate limits and the transaction concurrency limit, bound from {@code rate-limit.*}.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private boolean trustForwardedFor = false;
+    // Proxies in front of the app that append to X-Forwarded-For; the client is the entry they received it from
+    private int trustedProxyHops = 1;
+    private long idleEvictionSeconds = 300;
+    // Beyond this many buckets, requests from new clients share one bucket per rule
+    private int maxTrackedClients = 100_000;
+    // Clients sending one of these in X-API-Key are limited per key; other keys are ignored
+    private Set<String> apiKeys = new HashSet<>();
+    private List<Rule> rules = new ArrayList<>();
+    private Concurrency transactions = new Concurrency();
+
+    public static class Rule {
+        private String name;
+        private String method;
+        private String path;
+        // Burst size: requests allowed back to back from a full bucket
+        private int capacity = 20;
+        private double refillPerSecond = 10;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    public static class Concurrency {
+        private int maxConcurrent = 8;
+        private long acquireTimeoutMillis = 250;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public long getAcquireTimeoutMillis() {
+            return acquireTimeoutMillis;
+        }
+
+        public void setAcquireTimeoutMillis(long acquireTimeoutMillis) {
+            this.acquireTimeoutMillis = acquireTimeoutMillis;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isTrustForwardedFor() {
+        return trustForwardedFor;
+    }
+
+    public void setTrustForwardedFor(boolean trustForwardedFor) {
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    public int getTrustedProxyHops() {
+        return trustedProxyHops;
+    }
+
+    public void setTrustedProxyHops(int trustedProxyHops) {
+        this.trustedProxyHops = trustedProxyHops;
+    }
+
+    public long getIdleEvictionSeconds() {
+        return idleEvictionSeconds;
+    }
+
+    public void setIdleEvictionSeconds(long idleEvictionSeconds) {
+        this.idleEvictionSeconds = idleEvictionSeconds;
+    }
+
+    public int getMaxTrackedClients() {
+        return maxTrackedClients;
+    }
+
+    public void setMaxTrackedClients(int maxTrackedClients) {
+        this.maxTrackedClients = maxTrackedClients;
+    }
+
+    public Set<String> getApiKeys() {
+        return apiKeys;
+    }
+
+    public void setApiKeys(Set<String> apiKeys) {
+        this.apiKeys = apiKeys;
+    }
+
+    public List<Rule> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<Rule> rules) {
+        this.rules = rules;
+    }
+
+    public Concurrency getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(Concurrency transactions) {
+        this.transactions = transactions;
+    }
+}
@@ -0,0 +1,77 @@
+package com.bankmanagement.config;
+
+/**
+ * Optional read replica, bound from {@code replica.*} by ReplicaRoutingConfig. Without a url
+ * every connection goes to the primary, as before.
+ */
+public class ReplicaProperties {
+
+    private String url;
+    private String username;
+    private String password;
+    private int maximumPoolSize = 3;
+    private long connectionTimeoutMs = 30_000;
+    // Read-only transactions go to the primary while the replica is further behind than this
+    private long maxLagMs = 5_000;
+    private long lagCheckIntervalMs = 1_000;
+
+    public boolean isConfigured() {
+        return url != null && !url.isBlank();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public long getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    public void setConnectionTimeoutMs(long connectionTimeoutMs) {
+        this.connectionTimeoutMs = connectionTimeoutMs;
+    }
+
+    public long getMaxLagMs() {
+        return maxLagMs;
+    }
+
+    public void setMaxLagMs(long maxLagMs) {
+        this.maxLagMs = maxLagMs;
+    }
+
+    public long getLagCheckIntervalMs() {
+        return lagCheckIntervalMs;
+    }
+
+    public void setLagCheckIntervalMs(long lagCheckIntervalMs) {
+        this.lagCheckIntervalMs = lagCheckIntervalMs;
+    }
+}
@@ -0,0 +1,115 @@
+package com.bankmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Opt-in read replica, enabled by setting replica.url (REPLICA_DATABASE_URL).
+ *
+ * The dataSource bean is replaced by a ReplicaRoutingDataSource over the primary pool and a
+ * second, read-only Hikari pool on the replica. The setting is read when the pool is created
+ * rather than through a condition, so an AOT-processed build can still be pointed at a replica.
+ * Schema migrations and the dataset generator run outside transactions and stay on the primary.
+ */
+@Configuration
+public class ReplicaRoutingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(Environment environment) {
+        return new ReplicaRoutingPostProcessor(environment);
+    }
+
+    /**
+     * Destruction-aware because the context destroys the pool it created, not the router
+     * returned here, so the replica pool has to be closed alongside it
+     */
+    static class ReplicaRoutingPostProcessor implements DestructionAwareBeanPostProcessor {
+
+        private final Environment environment;
+        private ReplicaRoutingDataSource routing;
+
+        ReplicaRoutingPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!DATA_SOURCE_BEAN.equals(beanName) || !(bean instanceof DataSource primary)
+                    || bean instanceof ReplicaRoutingDataSource) {
+                return bean;
+            }
+            // Bound here because this runs before @ConfigurationProperties binding is set up
+            ReplicaProperties properties = Binder.get(environment)
+                    .bind("replica", ReplicaProperties.class)
+                    .orElseGet(ReplicaProperties::new);
+            if (!properties.isConfigured()) {
+                return bean;
+            }
+            routing = routing(primary, properties);
+            return routing;
+        }
+
+        @Override
+        public void postProcessBeforeDestruction(Object bean, String beanName) {
+            if (DATA_SOURCE_BEAN.equals(beanName) && routing != null) {
+                try {
+                    routing.close();
+                } catch (IOException e) {
+                    log.warn("Could not close the replica pool: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static ReplicaRoutingDataSource routing(DataSource primary, ReplicaProperties properties) {
+        HikariDataSource primaryPool = unwrapPool(primary);
+        boolean autoCommit = primaryPool == null || primaryPool.isAutoCommit();
+
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName("HikariPool-replica");
+        pool.setJdbcUrl(properties.getUrl());
+        pool.setUsername(properties.getUsername());
+        pool.setPassword(properties.getPassword());
+        pool.setMaximumPoolSize(properties.getMaximumPoolSize());
+        pool.setMinimumIdle(1);
+        pool.setConnectionTimeout(properties.getConnectionTimeoutMs());
+        pool.setAutoCommit(autoCommit);
+        pool.setReadOnly(true);
+        // A replica that is down at startup only means reads stay on the primary
+        pool.setInitializationFailTimeout(-1);
+
+        DataSource replica = pool;
+        // Virtual-thread mode gates the primary pool; the replica pool gets the same treatment
+        if (primary instanceof ConnectionPermitDataSource) {
+            replica = new ConnectionPermitDataSource(pool, pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+        }
+
+        log.info("Read replica configured, routing read-only transactions within {} ms of lag", properties.getMaxLagMs());
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, properties.getMaxLagMs(), autoCommit);
+        routing.startLagCheck(properties.getLagCheckIntervalMs());
+        return routing;
+    }
+
+    private static HikariDataSource unwrapPool(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
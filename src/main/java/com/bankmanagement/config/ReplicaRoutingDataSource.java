@@ -0,0 +1,206 @@
+package com.bankmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ *
+ * Connections are handed out lazily, so the physical connection is only picked at the first
+ * statement, after the transaction manager has marked the transaction read-only. Writes, reads
+ * that join a read-write transaction and work outside any transaction stay on the primary.
+ * Spring Data opens a read-only transaction for each repository call made outside one; those
+ * stay on the primary as well, so only application methods declared
+ * {@code @Transactional(readOnly = true)} are routed, and lookups that must see a write that
+ * just committed (login, fetch after create) simply do not declare it.
+ *
+ * A background check measures the replica's lag as the age of a heartbeat row the check
+ * stamps on the primary each time, so the reading is at most one check interval high.
+ * Read-only transactions fall back to the primary while the lag exceeds maxLagMillis or
+ * the replica cannot be reached; a standby that lost its WAL stream falls behind as well.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    // Transactions Spring Data opens around repository methods are named after its classes
+    private static final String REPOSITORY_TRANSACTION_PREFIX = "org.springframework.data.";
+
+    // The primary stamps the heartbeat row and the replica reports how old its copy is. A standby
+    // that stopped receiving WAL has replayed everything it has, but its heartbeat keeps ageing.
+    // Both sides use their own clocks, so the hosts are assumed to be NTP-synchronised.
+    private static final String HEARTBEAT_WRITE = "UPDATE replica_heartbeat SET beat_at = clock_timestamp() WHERE id = 1";
+    private static final String LAG_QUERY = "SELECT pg_is_in_recovery(), " +
+            "(SELECT (EXTRACT(EPOCH FROM clock_timestamp() - beat_at) * 1000)::bigint FROM replica_heartbeat WHERE id = 1)";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+    private final ScheduledExecutorService lagCheck;
+
+    // -1 until the first check succeeds and while the replica is unreachable
+    private volatile long lagMillis = -1;
+    private volatile boolean usable;
+    // Only touched by the lag check thread
+    private boolean checked;
+    private boolean warnedNotInRecovery;
+
+    private final LongAdder replicaTransactions = new LongAdder();
+    private final LongAdder primaryFallbacks = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long maxLagMillis, boolean defaultAutoCommit) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+
+        AbstractRoutingDataSource router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return route();
+            }
+        };
+        router.setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        // Known up front, so creating the proxy does not borrow a connection to find out
+        setDefaultAutoCommit(defaultAutoCommit);
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        afterPropertiesSet();
+
+        lagCheck = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start measuring the replica's lag; reads stay on the primary until the first measurement
+     */
+    public void startLagCheck(long intervalMillis) {
+        lagCheck.scheduleWithFixedDelay(this::checkLag, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Object route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (name != null && name.startsWith(REPOSITORY_TRANSACTION_PREFIX)) {
+            return PRIMARY;
+        }
+        if (!usable) {
+            primaryFallbacks.increment();
+            return PRIMARY;
+        }
+        replicaTransactions.increment();
+        return REPLICA;
+    }
+
+    void checkLag() {
+        long lag;
+        String problem = null;
+        try {
+            writeHeartbeat();
+        } catch (SQLException | RuntimeException e) {
+            // The replica's copy just ages, and the lag grows past the limit if this persists
+            log.debug("Could not write the replica heartbeat: {}", e.getMessage());
+        }
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_QUERY)) {
+            rs.next();
+            if (!rs.getBoolean(1) && !warnedNotInRecovery) {
+                warnedNotInRecovery = true;
+                log.warn("Replica is not a standby; it only serves reads while its heartbeat row keeps up with the primary");
+            }
+            lag = Math.max(0, rs.getLong(2));
+            if (rs.wasNull()) {
+                lag = -1;
+                problem = "no heartbeat from the primary yet";
+            }
+        } catch (SQLException | RuntimeException e) {
+            lag = -1;
+            problem = e.getMessage();
+        }
+        boolean nowUsable = lag >= 0 && lag <= maxLagMillis;
+        if (nowUsable != usable || !checked) {
+            if (nowUsable) {
+                log.info("Routing read-only transactions to the replica, lag {} ms", lag);
+            } else if (problem != null) {
+                log.warn("Replica unavailable, reading from the primary: {}", problem);
+            } else {
+                log.warn("Replica lag {} ms exceeds {} ms, reading from the primary", lag, maxLagMillis);
+            }
+        }
+        checked = true;
+        lagMillis = lag;
+        usable = nowUsable;
+    }
+
+    private void writeHeartbeat() throws SQLException {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate(HEARTBEAT_WRITE);
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        }
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public long getReplicaTransactions() {
+        return replicaTransactions.sum();
+    }
+
+    public long getPrimaryFallbacks() {
+        return primaryFallbacks.sum();
+    }
+
+    /**
+     * Stop the lag check and close the replica pool. The primary pool is closed by the
+     * context as the dataSource bean it was created as.
+     */
+    @Override
+    public void close() throws IOException {
+        lagCheck.shutdownNow();
+        try {
+            if (replica.isWrapperFor(Closeable.class)) {
+                replica.unwrap(Closeable.class).close();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not close the replica pool: {}", e.getMessage());
+        }
+    }
+}
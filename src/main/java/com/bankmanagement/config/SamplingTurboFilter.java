@@ -0,0 +1,66 @@
+package com.bankmanagement.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logback filter that keeps one in N events per logger under a prefix, for per-row
+ * logging in listings and batch jobs. Each logger name is its own category with its
+ * own counter, and the rate can be set per category in logback-spring.xml.
+ * Events are dropped before any message formatting or appender work happens.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String prefix = "com.bankmanagement.rows";
+    private int sampleEvery = 100;
+    private final Map<String, Integer> rates = new HashMap<>();
+    private final Map<String, Sampler> samplers = new ConcurrentHashMap<>();
+
+    private record Sampler(int every, AtomicLong counter) {
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isDebugEnabled() and friends pass no format; only real events are sampled
+        if (format == null || !logger.getName().startsWith(prefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        Sampler sampler = samplers.computeIfAbsent(logger.getName(),
+                name -> new Sampler(rates.getOrDefault(name, sampleEvery), new AtomicLong()));
+        if (sampler.every() <= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return sampler.counter().getAndIncrement() % sampler.every() == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    /**
+     * Per-category overrides as {@code logger.name=N} pairs separated by commas
+     */
+    public void setRates(String rates) {
+        if (rates == null) {
+            return;
+        }
+        for (String pair : rates.split(",")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                this.rates.put(pair.substring(0, separator).trim(), Integer.parseInt(pair.substring(separator + 1).trim()));
+            }
+        }
+    }
+}
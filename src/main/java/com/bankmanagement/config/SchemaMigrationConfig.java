@@ -0,0 +1,41 @@
+package com.bankmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Runs the schema migrations while the context starts. SchemaMigratorDetector registers the
+ * migrator as a database initializer, so the JPA EntityManagerFactory (which validates the
+ * schema) and every JdbcTemplate are only created after it has finished.
+ *
+ * schema.migration.enabled is read at runtime rather than through a condition, which an
+ * AOT-processed build would fix at build time.
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrationConfig.class);
+
+    @Bean
+    public SchemaMigrator schemaMigrator(DataSource dataSource,
+                                         @Value("${schema.migration.enabled:true}") boolean enabled,
+                                         @Value("${schema.migration.location:" + SchemaMigrator.DEFAULT_LOCATION + "}") String location)
+            throws SQLException, IOException {
+        // DDL always goes to the primary, whatever the routing would decide
+        DataSource primary = dataSource instanceof ReplicaRoutingDataSource routing ? routing.getPrimary() : dataSource;
+        SchemaMigrator migrator = new SchemaMigrator(primary, location);
+        if (enabled) {
+            migrator.migrate();
+        } else {
+            log.info("Schema migrations are disabled");
+        }
+        return migrator;
+    }
+}
@@ -0,0 +1,256 @@
+package com.bankmanagement.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the versioned SQL scripts in {@code db/migration} ({@code V<n>__<description>.sql})
+ * that are not yet recorded in {@code schema_version}, each in its own transaction together
+ * with its version row and SHA-256 checksum.
+ *
+ * Startup is a single primary-key lookup of the latest script's checksum when nothing is
+ * pending. Only when that misses is the advisory lock taken, every applied checksum checked
+ * against its script and the pending scripts run; an edited or missing applied script stops
+ * startup instead of leaving the schema in an unknown state.
+ */
+public class SchemaMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    public static final String DEFAULT_LOCATION = "classpath*:db/migration/*.sql";
+
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    // Arbitrary, shared by every instance migrating the same database
+    private static final long LOCK_KEY = 0x62616e6b5f736368L;
+
+    private static final String CREATE_VERSION_TABLE = "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INTEGER PRIMARY KEY, " +
+            "description VARCHAR(200) NOT NULL, " +
+            "script VARCHAR(200) NOT NULL, " +
+            "checksum VARCHAR(64) NOT NULL, " +
+            "installed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+            "execution_ms INTEGER NOT NULL)";
+
+    private static final String UNDEFINED_TABLE = "42P01";
+
+    /**
+     * One migration script on the classpath
+     */
+    static final class Script {
+        private final int version;
+        private final String description;
+        private final Resource resource;
+        private String sql;
+        private String checksum;
+
+        Script(int version, String description, Resource resource) {
+            this.version = version;
+            this.description = description;
+            this.resource = resource;
+        }
+
+        String getName() {
+            return resource.getFilename();
+        }
+
+        String getSql() throws IOException {
+            if (sql == null) {
+                try (InputStream in = resource.getInputStream()) {
+                    // Line endings of the checkout must not change the checksum
+                    sql = new String(in.readAllBytes(), StandardCharsets.UTF_8).replace("\r\n", "\n");
+                }
+            }
+            return sql;
+        }
+
+        String getChecksum() throws IOException {
+            if (checksum == null) {
+                try {
+                    byte[] digest = MessageDigest.getInstance("SHA-256").digest(getSql().getBytes(StandardCharsets.UTF_8));
+                    checksum = HexFormat.of().formatHex(digest);
+                } catch (NoSuchAlgorithmException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return checksum;
+        }
+    }
+
+    private final DataSource dataSource;
+    private final String location;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this(dataSource, DEFAULT_LOCATION);
+    }
+
+    public SchemaMigrator(DataSource dataSource, String location) {
+        this.dataSource = dataSource;
+        this.location = location;
+    }
+
+    /**
+     * Bring the schema up to the latest script and return how many scripts were applied
+     */
+    public int migrate() throws SQLException, IOException {
+        List<Script> scripts = findScripts();
+        if (scripts.isEmpty()) {
+            log.warn("No migration scripts found at {}", location);
+            return 0;
+        }
+        Script latest = scripts.get(scripts.size() - 1);
+        try (Connection connection = dataSource.getConnection()) {
+            if (latest.getChecksum().equals(appliedChecksum(connection, latest.version))) {
+                log.info("Schema is up to date at version {}", latest.version);
+                return 0;
+            }
+            return migrate(connection, scripts);
+        }
+    }
+
+    private int migrate(Connection connection, List<Script> scripts) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            // Other instances starting at the same time wait here and then find nothing pending
+            statement.execute("SELECT pg_advisory_lock(" + LOCK_KEY + ")");
+            try {
+                statement.execute(CREATE_VERSION_TABLE);
+                Map<Integer, String> applied = appliedChecksums(statement);
+                validate(scripts, applied);
+
+                int count = 0;
+                for (Script script : scripts) {
+                    if (!applied.containsKey(script.version)) {
+                        apply(connection, script);
+                        count++;
+                    }
+                }
+                log.info("Schema migrated to version {} ({} scripts applied)", scripts.get(scripts.size() - 1).version, count);
+                return count;
+            } finally {
+                statement.execute("SELECT pg_advisory_unlock(" + LOCK_KEY + ")");
+            }
+        }
+    }
+
+    private void validate(List<Script> scripts, Map<Integer, String> applied) throws IOException {
+        Map<Integer, Script> byVersion = new HashMap<>();
+        for (Script script : scripts) {
+            byVersion.put(script.version, script);
+        }
+        for (Map.Entry<Integer, String> entry : applied.entrySet()) {
+            Script script = byVersion.get(entry.getKey());
+            if (script == null) {
+                throw new IllegalStateException("Applied migration version " + entry.getKey() + " has no script at " + location);
+            }
+            if (!script.getChecksum().equals(entry.getValue())) {
+                throw new IllegalStateException("Migration " + script.getName() + " was changed after it was applied; "
+                        + "restore it and add the change as a new version");
+            }
+        }
+    }
+
+    private void apply(Connection connection, Script script) throws SQLException, IOException {
+        log.info("Applying migration {}", script.getName());
+        long start = System.currentTimeMillis();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement();
+             PreparedStatement record = connection.prepareStatement(
+                     "INSERT INTO schema_version (version, description, script, checksum, execution_ms) VALUES (?, ?, ?, ?, ?)")) {
+            // Drops the "already exists, skipping" notices of the idempotent statements
+            statement.execute("SET LOCAL client_min_messages = warning");
+            // The driver splits the script into statements, respecting quotes and dollar-quoted bodies
+            statement.execute(script.getSql());
+            for (SQLWarning warning = statement.getWarnings(); warning != null; warning = warning.getNextWarning()) {
+                log.warn("{}: {}", script.getName(), warning.getMessage());
+            }
+            record.setInt(1, script.version);
+            record.setString(2, script.description);
+            record.setString(3, script.getName());
+            record.setString(4, script.getChecksum());
+            record.setInt(5, (int) (System.currentTimeMillis() - start));
+            record.executeUpdate();
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw new IllegalStateException("Migration " + script.getName() + " failed: " + e.getMessage(), e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        log.info("Applied migration {} in {} ms", script.getName(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Checksum recorded for one version, or null if it is not applied or nothing is versioned yet
+     */
+    private static String appliedChecksum(Connection connection, int version) throws SQLException {
+        try (PreparedStatement lookup = connection.prepareStatement("SELECT checksum FROM schema_version WHERE version = ?")) {
+            lookup.setInt(1, version);
+            try (ResultSet rs = lookup.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            if (UNDEFINED_TABLE.equals(e.getSQLState())) {
+                if (!connection.getAutoCommit()) {
+                    connection.rollback();
+                }
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    private static Map<Integer, String> appliedChecksums(Statement statement) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (ResultSet rs = statement.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private List<Script> findScripts() throws IOException {
+        List<Script> scripts = new ArrayList<>();
+        Map<Integer, String> seen = new HashMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location)) {
+            String name = resource.getFilename();
+            Matcher matcher = name == null ? null : SCRIPT_NAME.matcher(name);
+            if (matcher == null || !matcher.matches()) {
+                log.warn("Ignoring {}, migration scripts are named V<n>__<description>.sql", name);
+                continue;
+            }
+            int version = Integer.parseInt(matcher.group(1));
+            String previous = seen.put(version, name);
+            if (previous != null) {
+                throw new IllegalStateException("Migrations " + previous + " and " + name + " share version " + version);
+            }
+            scripts.add(new Script(version, matcher.group(2).replace('_', ' '), resource));
+        }
+        scripts.sort(Comparator.comparingInt(script -> script.version));
+        return scripts;
+    }
+}
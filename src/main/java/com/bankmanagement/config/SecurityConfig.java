@@ -1,13 +1,21 @@
 package com.bankmanagement.config;
 
+import com.bankmanagement.model.Permission;
+import com.bankmanagement.security.JwtAuthenticationFilter;
+import com.bankmanagement.security.JwtService;
+import com.bankmanagement.security.PasswordHashingService;
+import com.bankmanagement.security.RolePermissionResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -18,24 +26,63 @@ import java.util.Arrays;
 @EnableWebSecurity
 public class SecurityConfig {
     
+    @Autowired
+    private JwtService jwtService;
+    
+    @Autowired
+    private RolePermissionResolver rolePermissionResolver;
+    
+    // When false, tokens are verified if present but not required
+    @Value("${jwt.required:false}")
+    private boolean jwtRequired;
+    
+    // When true, /api/** requires the permission for each area. The filter derives those authorities
+    // from the user's current roles in the RolePermissionResolver snapshot, not from the token
+    @Value("${authorization.enforce:false}")
+    private boolean enforcePermissions;
+    
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .cors().and()
             .csrf().disable()
-            .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/api/**").permitAll()
-                .anyRequest().permitAll()
-            )
+            .authorizeHttpRequests(authz -> {
+                // Staff accounts and their roles are managed by user admins only, whatever the flags say
+                authz.requestMatchers("/api/users/**").hasAuthority(Permission.USER_ADMIN.name());
+                // Bulk loads drop and rebuild the transaction indexes, so only database admins may start one
+                authz.requestMatchers("/api/database/sample-data").hasAuthority(Permission.DATABASE_ADMIN.name());
+                if (enforcePermissions) {
+                    authz.requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/api/database/**").hasAuthority(Permission.DATABASE_ADMIN.name())
+                        .requestMatchers("/api/dashboard/**").hasAuthority(Permission.DASHBOARD_READ.name())
+                        .requestMatchers(HttpMethod.GET, "/api/customers/**", "/api/search/**").hasAuthority(Permission.CUSTOMER_READ.name())
+                        .requestMatchers("/api/customers/**").hasAuthority(Permission.CUSTOMER_WRITE.name())
+                        .requestMatchers(HttpMethod.GET, "/api/accounts/**").hasAuthority(Permission.ACCOUNT_READ.name())
+                        .requestMatchers("/api/accounts/**").hasAuthority(Permission.ACCOUNT_WRITE.name())
+                        .requestMatchers(HttpMethod.GET, "/api/transactions/**").hasAuthority(Permission.TRANSACTION_READ.name())
+                        .requestMatchers("/api/transactions/**").hasAuthority(Permission.TRANSACTION_WRITE.name())
+                        .requestMatchers("/api/**").authenticated()
+                        .anyRequest().permitAll();
+                } else if (jwtRequired) {
+                    authz.requestMatchers("/api/auth/**").permitAll()
+                        .requestMatchers("/api/**").authenticated()
+                        .anyRequest().permitAll();
+                } else {
+                    authz.requestMatchers("/api/**").permitAll()
+                        .anyRequest().permitAll();
+                }
+            })
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService, rolePermissionResolver), UsernamePasswordAuthenticationFilter.class)
             .sessionManagement()
             .sessionCreationPolicy(SessionCreationPolicy.STATELESS);
         
         return http.build();
     }
     
+    // Same encoder, and tuned BCrypt strength, as the password hashing pool
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingService passwordHashingService) {
+        return passwordHashingService.getEncoder();
     }
     
     @Bean
@@ -0,0 +1,62 @@
+package com.bankmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the account, customer and transaction services as
+ * {@code bank.service.method}, tagged by class, method and outcome, with percentile
+ * histograms. Controllers are already covered by Actuator's http.server.requests.
+ * Timers are resolved once per method, so the hot path does no meter lookups.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    private static final String METRIC = "bank.service.method";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.bankmanagement.service.AccountService.*(..))"
+            + " || execution(public * com.bankmanagement.service.CustomerService.*(..))"
+            + " || execution(public * com.bankmanagement.service.TransactionService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer[] methodTimers = timers.computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(), this::register);
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            methodTimers[success ? 0 : 1].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] register(Method method) {
+        return new Timer[]{timer(method, "success"), timer(method, "error")};
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return Timer.builder(METRIC)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
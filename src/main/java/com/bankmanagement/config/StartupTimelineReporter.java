@@ -0,0 +1,140 @@
+package com.bankmanagement.config;
+
+import com.bankmanagement.BankManagementApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Logs where startup time went once the application is ready: JVM start to main, each
+ * top-level startup phase with the context refresh broken down by step, and the beans with
+ * the longest instantiation time excluding the dependencies they pulled in.
+ *
+ * Built from the steps buffered by the BufferingApplicationStartup installed in main; the
+ * full tree is also served by /actuator/startup. Enabled with startup.report.enabled.
+ */
+@Component
+public class StartupTimelineReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimelineReporter.class);
+
+    private static final String REFRESH_STEP = "spring.context.refresh";
+    private static final String BEAN_STEP = "spring.beans.instantiate";
+
+    @Value("${startup.report.enabled:false}")
+    private boolean enabled;
+
+    @Value("${startup.report.top-beans:15}")
+    private int topBeans;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            log.info("Startup timeline not recorded, the application was not started with a BufferingApplicationStartup");
+            return;
+        }
+        log.info("{}", render(startup.getBufferedTimeline(), Instant.now()));
+    }
+
+    String render(StartupTimeline timeline, Instant ready) {
+        List<StartupTimeline.TimelineEvent> events = new ArrayList<>(timeline.getEvents());
+        events.sort(Comparator.comparing(StartupTimeline.TimelineEvent::getStartTime));
+        Set<Long> ids = new HashSet<>();
+        Map<Long, Duration> childTime = new HashMap<>();
+        for (StartupTimeline.TimelineEvent each : events) {
+            ids.add(each.getStartupStep().getId());
+            Long parent = each.getStartupStep().getParentId();
+            if (parent != null) {
+                childTime.merge(parent, each.getDuration(), Duration::plus);
+            }
+        }
+
+        Instant jvmStart = Instant.ofEpochMilli(ManagementFactory.getRuntimeMXBean().getStartTime());
+        StringBuilder report = new StringBuilder("Startup timeline, JVM start to ready in ")
+                .append(Duration.between(jvmStart, ready).toMillis()).append(" ms\n");
+        row(report, "  ", "jvm start to main", Duration.between(jvmStart, timeline.getStartTime()), null);
+
+        for (StartupTimeline.TimelineEvent each : events) {
+            StartupStep step = each.getStartupStep();
+            if (step.getParentId() != null && ids.contains(step.getParentId())) {
+                continue;
+            }
+            row(report, "  ", step.getName(), each.getDuration(), null);
+            if (REFRESH_STEP.equals(step.getName())) {
+                refreshBreakdown(report, events, step.getId());
+            }
+        }
+
+        report.append("  Slowest beans, excluding their dependencies:\n");
+        events.stream()
+                .filter(each -> BEAN_STEP.equals(each.getStartupStep().getName()))
+                .sorted(Comparator.comparing((StartupTimeline.TimelineEvent each) -> selfTime(each, childTime)).reversed())
+                .limit(topBeans)
+                .forEach(each -> row(report, "    ", tag(each.getStartupStep(), "beanName"), selfTime(each, childTime),
+                        each.getDuration()));
+        if (events.size() >= BankManagementApplication.STARTUP_STEPS) {
+            report.append("  (step buffer full, later steps were not recorded)\n");
+        }
+        return report.toString().stripTrailing();
+    }
+
+    /**
+     * Direct children of the refresh step, summed by step name
+     */
+    private void refreshBreakdown(StringBuilder report, List<StartupTimeline.TimelineEvent> events, long refreshId) {
+        Map<String, Duration> byName = new LinkedHashMap<>();
+        Map<String, Integer> counts = new HashMap<>();
+        for (StartupTimeline.TimelineEvent each : events) {
+            StartupStep step = each.getStartupStep();
+            if (step.getParentId() != null && step.getParentId() == refreshId) {
+                byName.merge(step.getName(), each.getDuration(), Duration::plus);
+                counts.merge(step.getName(), 1, Integer::sum);
+            }
+        }
+        byName.entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue().reversed())
+                .forEach(entry -> row(report, "    ", entry.getKey() + " x" + counts.get(entry.getKey()), entry.getValue(), null));
+    }
+
+    private static Duration selfTime(StartupTimeline.TimelineEvent event, Map<Long, Duration> childTime) {
+        return event.getDuration().minus(childTime.getOrDefault(event.getStartupStep().getId(), Duration.ZERO));
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (key.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+
+    private static void row(StringBuilder report, String indent, String name, Duration duration, Duration total) {
+        report.append(String.format("%s%-60s %7d ms", indent, name, duration.toMillis()));
+        if (total != null) {
+            report.append(String.format(" (%d ms with dependencies)", total.toMillis()));
+        }
+        report.append('\n');
+    }
+}
@@ -0,0 +1,87 @@
+package com.bankmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Opt-in virtual-thread mode, enabled with spring.threads.virtual.enabled=true.
+ *
+ * Spring Boot then runs Tomcat request handling, @Async and @Scheduled work on virtual
+ * threads. This class adds the matching back-pressure: connection checkout is gated
+ * by a fair semaphore with one permit per pooled connection.
+ *
+ * The gate reads the setting when the pool is created. Boot's own executors are chosen by
+ * conditions, which an AOT-processed build fixes at build time, so startup fails if the
+ * setting differs from the one the build saw rather than running half in each mode.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public static BeanPostProcessor connectionPermitPostProcessor(Environment environment) {
+        return new ConnectionPermitPostProcessor(environment);
+    }
+
+    /**
+     * Present when Boot's virtual-thread conditions matched, at build time under AOT
+     */
+    static final class BootVirtualThreads {
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    static BootVirtualThreads bootVirtualThreads() {
+        return new BootVirtualThreads();
+    }
+
+    @Bean
+    public SmartInitializingSingleton virtualThreadModeCheck(Environment environment,
+                                                             ObjectProvider<BootVirtualThreads> bootVirtualThreads) {
+        return () -> {
+            boolean built = bootVirtualThreads.getIfAvailable() != null;
+            boolean requested = Threading.VIRTUAL.isActive(environment);
+            if (built != requested) {
+                throw new IllegalStateException("spring.threads.virtual.enabled is " + requested
+                        + " but this build was AOT-processed with it " + built + "; rebuild with the same setting");
+            }
+        };
+    }
+
+    /**
+     * Ordered, so the pool is wrapped before ReplicaRoutingConfig puts its router in front of it
+     */
+    static class ConnectionPermitPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment environment;
+
+        ConnectionPermitPostProcessor(Environment environment) {
+            this.environment = environment;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof HikariDataSource hikari && Threading.VIRTUAL.isActive(environment)) {
+                log.info("Virtual threads enabled, gating connections with {} permits", hikari.getMaximumPoolSize());
+                return new ConnectionPermitDataSource(hikari, hikari.getMaximumPoolSize(), hikari.getConnectionTimeout());
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.bankmanagement.controller;
 
 import com.bankmanagement.model.Account;
 import com.bankmanagement.service.AccountService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -17,6 +19,10 @@ import java.util.Optional;
 @CrossOrigin(origins = "*")
 public class AccountController {
 
+    private static final Logger log = LoggerFactory.getLogger(AccountController.class);
+    // Per-row logging, sampled by SamplingTurboFilter
+    private static final Logger rowLog = LoggerFactory.getLogger("com.bankmanagement.rows.accounts");
+
     @Autowired
     private AccountService accountService;
 
@@ -24,14 +30,14 @@ public class AccountController {
     @GetMapping("/basic")
     public ResponseEntity<?> getBasicTest() {
         try {
-            System.out.println("🔍 Basic test endpoint...");
+            log.debug("Basic test endpoint...");
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Basic test working");
             response.put("timestamp", System.currentTimeMillis());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("❌ Error in basic test: " + e.getMessage());
+            log.error("Error in basic test: {}", e.getMessage());
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed: " + e.getMessage());
@@ -42,17 +48,16 @@ public class AccountController {
     @GetMapping("/count")
     public ResponseEntity<?> getAccountCount() {
         try {
-            System.out.println("🔍 Getting account count...");
+            log.debug("Getting account count...");
             long count = accountService.getTotalAccounts();
-            System.out.println("✅ Account count: " + count);
+            log.debug("Account count: {}", count);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("count", count);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("❌ Error getting account count: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error getting account count", e);
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed to get count: " + e.getMessage());
@@ -63,14 +68,14 @@ public class AccountController {
     @GetMapping("/simple")
     public ResponseEntity<?> getSimpleAccounts() {
         try {
-            System.out.println("🔍 Getting simple accounts...");
+            log.debug("Getting simple accounts...");
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Simple accounts endpoint working");
             response.put("accounts", new ArrayList<>());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("❌ Error in simple accounts: " + e.getMessage());
+            log.error("Error in simple accounts: {}", e.getMessage());
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed: " + e.getMessage());
@@ -78,26 +83,10 @@ public class AccountController {
         }
     }
     
-    @GetMapping("/test")
-    public ResponseEntity<?> testAccountsEndpoint() {
-        try {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Accounts endpoint is working");
-            response.put("timestamp", System.currentTimeMillis());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
-        }
-    }
-    
     @GetMapping("/basic-accounts")
     public ResponseEntity<?> getBasicAccounts() {
         try {
-            System.out.println("🔍 Getting basic accounts...");
+            log.debug("Getting basic accounts...");
             // Return a simple response with account count
             long count = accountService.getTotalAccounts();
             
@@ -108,8 +97,7 @@ public class AccountController {
             response.put("message", "Basic accounts data (simplified)");
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("❌ Error getting basic accounts: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error getting basic accounts", e);
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed: " + e.getMessage());
@@ -120,28 +108,21 @@ public class AccountController {
     @GetMapping
     public ResponseEntity<?> getAllAccounts() {
         try {
-            System.out.println("🔍 Getting all accounts...");
-            System.out.println("🔍 AccountService: " + (accountService != null ? "OK" : "NULL"));
-            
-            // Test repository directly
-            System.out.println("🔍 Testing repository...");
-            long count = accountService.getTotalAccounts();
-            System.out.println("🔍 Total accounts count: " + count);
-            
+            log.debug("Getting all accounts...");
             // Use custom query to get account data as Map to avoid entity mapping issues
             List<Map<String, Object>> accounts = accountService.getAllAccountsAsMap();
-            System.out.println("✅ Found " + accounts.size() + " accounts using custom query");
+            log.debug("Found {} accounts using custom query", accounts.size());
             
-            // Log each account
-            for (Map<String, Object> account : accounts) {
-                System.out.println("📝 Account: " + account.get("accountNumber") + " - " + account.get("accountType") + " - $" + account.get("balance"));
+            // Log each row (sampled); skipped unless row logging is enabled
+            if (rowLog.isDebugEnabled()) {
+                for (Map<String, Object> account : accounts) {
+                    rowLog.debug("Account: {} - {} - ${}", account.get("accountNumber"), account.get("accountType"), account.get("balance"));
+                }
             }
             
             return ResponseEntity.ok(accounts);
         } catch (Exception e) {
-            System.err.println("❌ Error getting accounts: " + e.getMessage());
-            System.err.println("❌ Error class: " + e.getClass().getSimpleName());
-            e.printStackTrace();
+            log.error("Error getting accounts", e);
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed to fetch accounts: " + e.getMessage());
@@ -153,36 +134,24 @@ public class AccountController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getAccountById(@PathVariable Long id) {
         try {
-            System.out.println("🔍 Getting account by ID: " + id);
+            log.debug("Getting account by ID: {}", id);
             
-            // Use custom query to get account data as Map to avoid entity mapping issues
-            List<Map<String, Object>> accounts = accountService.getAllAccountsAsMap();
-            
-            // Find the account with the matching ID
-            Optional<Map<String, Object>> accountOpt = accounts.stream()
-                .filter(account -> {
-                    Object accountId = account.get("accountId");
-                    if (accountId instanceof Number) {
-                        return ((Number) accountId).longValue() == id;
-                    }
-                    return accountId != null && accountId.toString().equals(id.toString());
-                })
-                .findFirst();
+            // Read from the primary, so an account created a moment ago is found
+            Optional<Map<String, Object>> accountOpt = accountService.getAccountAsMap(id);
             
             if (accountOpt.isPresent()) {
                 Map<String, Object> account = accountOpt.get();
-                System.out.println("✅ Found account: " + account.get("accountNumber"));
+                log.debug("Found account: {}", account.get("accountNumber"));
                 return ResponseEntity.ok(account);
             } else {
-                System.out.println("❌ Account not found with ID: " + id);
+                log.warn("Account not found with ID: {}", id);
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", false);
                 response.put("message", "Account not found");
                 return ResponseEntity.status(404).body(response);
             }
         } catch (Exception e) {
-            System.err.println("❌ Error getting account by ID: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error getting account by ID", e);
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed to fetch account: " + e.getMessage());
@@ -193,18 +162,18 @@ public class AccountController {
     @PostMapping
     public ResponseEntity<?> createAccount(@RequestBody Account account) {
         try {
-            System.out.println("🔍 Creating new account...");
-            System.out.println("📝 Account data received: " + account);
-            System.out.println("📝 Account number: " + account.getAccountNumber());
-            System.out.println("📝 Account type: " + account.getAccountType());
-            System.out.println("📝 Customer ID: " + account.getCustomerId());
-            System.out.println("📝 Balance: " + account.getBalance());
-            System.out.println("📝 Interest rate: " + account.getInterestRate());
-            System.out.println("📝 Status: " + account.getStatus());
+            log.debug("Creating new account...");
+            log.debug("Account data received: {}", account);
+            log.debug("Account number: {}", account.getAccountNumber());
+            log.debug("Account type: {}", account.getAccountType());
+            log.debug("Customer ID: {}", account.getCustomerId());
+            log.debug("Balance: {}", account.getBalance());
+            log.debug("Interest rate: {}", account.getInterestRate());
+            log.debug("Status: {}", account.getStatus());
             
             // Validate required fields
             if (account.getAccountNumber() == null || account.getAccountNumber().trim().isEmpty()) {
-                System.err.println("❌ Account number is required");
+                log.warn("Account number is required");
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", false);
                 response.put("message", "Account number is required");
@@ -212,7 +181,7 @@ public class AccountController {
             }
             
             if (account.getAccountType() == null) {
-                System.err.println("❌ Account type is required");
+                log.warn("Account type is required");
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", false);
                 response.put("message", "Account type is required");
@@ -220,7 +189,7 @@ public class AccountController {
             }
             
             if (account.getCustomerId() == null) {
-                System.err.println("❌ Customer ID is required");
+                log.warn("Customer ID is required");
                 Map<String, Object> response = new HashMap<>();
                 response.put("success", false);
                 response.put("message", "Customer ID is required");
@@ -228,7 +197,7 @@ public class AccountController {
             }
             
             Account savedAccount = accountService.createAccount(account);
-            System.out.println("✅ Account created successfully: " + savedAccount.getAccountId());
+            log.info("Account created successfully: {}", savedAccount.getAccountId());
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -236,8 +205,7 @@ public class AccountController {
             response.put("account", savedAccount);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("❌ Error creating account: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error creating account", e);
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed to create account: " + e.getMessage());
@@ -245,39 +213,38 @@ public class AccountController {
         }
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<?> createAccountsBulk(@RequestBody List<Account> accounts) {
+        try {
+            log.debug("Creating {} accounts in bulk...", accounts.size());
+            List<Map<String, Object>> results = accountService.createAccountsBulk(accounts);
+            long created = results.stream().filter(result -> Boolean.TRUE.equals(result.get("success"))).count();
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", created == accounts.size());
+            response.put("message", created + " of " + accounts.size() + " accounts created");
+            response.put("created", created);
+            response.put("failed", accounts.size() - created);
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            log.error("Error creating accounts in bulk", e);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to create accounts: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateAccount(@PathVariable Long id, @RequestBody Map<String, Object> accountData) {
         try {
-            System.out.println("🔍 Updating account ID: " + id);
-            System.out.println("📝 Account data received: " + accountData);
-            
-            // Create a new Account object with the updated data
-            Account updatedAccount = new Account();
-            updatedAccount.setAccountId(id);
-            
-            // Set fields from the request data
-            if (accountData.containsKey("customerId")) {
-                updatedAccount.setCustomerId(Long.valueOf(accountData.get("customerId").toString()));
-            }
-            if (accountData.containsKey("accountNumber")) {
-                updatedAccount.setAccountNumber(accountData.get("accountNumber").toString());
-            }
-            if (accountData.containsKey("accountType")) {
-                updatedAccount.setAccountType(Account.AccountType.valueOf(accountData.get("accountType").toString()));
-            }
-            if (accountData.containsKey("balance")) {
-                updatedAccount.setBalance(new java.math.BigDecimal(accountData.get("balance").toString()));
-            }
-            if (accountData.containsKey("interestRate")) {
-                updatedAccount.setInterestRate(new java.math.BigDecimal(accountData.get("interestRate").toString()));
-            }
-            if (accountData.containsKey("status")) {
-                updatedAccount.setStatus(Account.AccountStatus.valueOf(accountData.get("status").toString()));
-            }
+            log.debug("Updating account ID: {}", id);
+            log.debug("Account data received: {}", accountData);
             
-            // Save the updated account
-            Account savedAccount = accountService.createAccount(updatedAccount);
-            System.out.println("✅ Account updated successfully: " + savedAccount.getAccountId());
+            // Only the fields present in the request are changed
+            Account savedAccount = accountService.updateAccount(id, accountData);
+            log.info("Account updated successfully: {}", savedAccount.getAccountId());
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -285,8 +252,7 @@ public class AccountController {
             response.put("account", savedAccount);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("❌ Error updating account: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error updating account", e);
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed to update account: " + e.getMessage());
@@ -294,6 +260,48 @@ public class AccountController {
         }
     }
 
+    @PostMapping("/{id}/sharded-balance")
+    public ResponseEntity<?> enableShardedBalance(@PathVariable Long id, @RequestBody Map<String, Object> request) {
+        try {
+            Object slots = request.get("slots");
+            if (slots == null) {
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("message", "Slot count is required");
+                return ResponseEntity.badRequest().body(response);
+            }
+            accountService.enableShardedBalance(id, Integer.parseInt(slots.toString()));
+            log.info("Sharded balance enabled for account {} with {} slots", id, slots);
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Sharded balance enabled");
+            response.put("slots", slots);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @DeleteMapping("/{id}/sharded-balance")
+    public ResponseEntity<?> disableShardedBalance(@PathVariable Long id) {
+        try {
+            accountService.disableShardedBalance(id);
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Sharded balance disabled");
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteAccount(@PathVariable Long id) {
         try {
@@ -1,14 +1,22 @@
 package com.bankmanagement.controller;
 
 import com.bankmanagement.dto.CustomerDTO;
+import com.bankmanagement.exception.DuplicateResourceException;
+import com.bankmanagement.exception.ServiceOverloadedException;
 import com.bankmanagement.model.Customer;
+import com.bankmanagement.security.JwtService;
+import com.bankmanagement.service.CustomerLoginCache;
 import com.bankmanagement.service.CustomerService;
+import com.bankmanagement.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -18,6 +26,15 @@ public class AuthController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private CustomerLoginCache customerLoginCache;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserService userService;
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody Map<String, String> userData) {
         try {
@@ -41,6 +58,12 @@ public class AuthController {
             response.put("customer", savedCustomer);
             
             return ResponseEntity.ok(response);
+        } catch (DuplicateResourceException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            response.put("field", e.getField());
+            return ResponseEntity.status(409).body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -55,12 +78,12 @@ public class AuthController {
             String email = loginData.get("email");
             String phone = loginData.get("phone");
             
-            // Simple authentication - just check if customer exists
+            // Customer lookup only: customers have no credential to verify, so no token is issued
             CustomerDTO customer = null;
             if (email != null && !email.isEmpty()) {
-                customer = customerService.getCustomerByEmail(email).orElse(null);
+                customer = customerService.getCustomerByEmailForLogin(email).orElse(null);
             } else if (phone != null && !phone.isEmpty()) {
-                customer = customerService.getCustomerByPhone(phone).orElse(null);
+                customer = customerService.getCustomerByPhoneForLogin(phone).orElse(null);
             }
             
             if (customer != null) {
@@ -82,4 +105,61 @@ public class AuthController {
             return ResponseEntity.badRequest().body(response);
         }
     }
+
+    @PostMapping("/staff/login")
+    public CompletableFuture<ResponseEntity<?>> staffLogin(@RequestBody Map<String, String> loginData) {
+        String username = loginData.get("username");
+        String password = loginData.get("password");
+        if (username == null || username.isEmpty() || password == null || password.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Username and password are required");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(response));
+        }
+        
+        // Verification runs on the password hashing pool, not on this request thread
+        return userService.authenticate(username, password)
+                .<ResponseEntity<?>>thenApply(user -> {
+                    Map<String, Object> response = new HashMap<>();
+                    if (user.isEmpty()) {
+                        response.put("success", false);
+                        response.put("message", "Invalid credentials");
+                        return ResponseEntity.status(401).body(response);
+                    }
+                    List<String> roles = userService.getRoleNames(user.get());
+                    response.put("success", true);
+                    response.put("message", "Login successful");
+                    response.put("username", user.get().getUsername());
+                    response.put("roles", roles);
+                    response.put("token", jwtService.issueToken(user.get().getUsername(), roles,
+                            Map.of("userId", user.get().getUserId())));
+                    response.put("tokenType", "Bearer");
+                    response.put("expiresIn", jwtService.getExpirationMillis() / 1000);
+                    return ResponseEntity.ok(response);
+                })
+                .exceptionally(this::asyncErrorResponse);
+    }
+
+    @GetMapping("/login-cache/stats")
+    public ResponseEntity<?> getLoginCacheStats() {
+        try {
+            return ResponseEntity.ok(customerLoginCache.getStats());
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    private ResponseEntity<?> asyncErrorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", cause.getMessage());
+        if (cause instanceof ServiceOverloadedException) {
+            return ResponseEntity.status(429).header("Retry-After", "1").body(response);
+        }
+        return ResponseEntity.badRequest().body(response);
+    }
 }
@@ -1,6 +1,7 @@
 package com.bankmanagement.controller;
 
 import com.bankmanagement.dto.CustomerDTO;
+import com.bankmanagement.exception.DuplicateResourceException;
 import com.bankmanagement.service.CustomerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -45,6 +46,26 @@ public class CustomerController {
         }
     }
 
+    /**
+     * Customer, accounts and recent activity. transactions is the number of newest
+     * transactions listed for each account (1-100), not a total across accounts.
+     */
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<?> getCustomerOverview(@PathVariable Long id,
+                                                 @RequestParam(defaultValue = "10") int transactions) {
+        try {
+            int limit = Math.max(1, Math.min(transactions, 100));
+            Map<String, Object> overview = customerService.getCustomerOverview(id, limit)
+                    .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
+            return ResponseEntity.ok(overview);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
     @PostMapping
     public ResponseEntity<?> createCustomer(@RequestBody CustomerDTO customerDTO) {
         try {
@@ -54,6 +75,12 @@ public class CustomerController {
             response.put("message", "Customer created successfully");
             response.put("customer", savedCustomer);
             return ResponseEntity.ok(response);
+        } catch (DuplicateResourceException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            response.put("field", e.getField());
+            return ResponseEntity.status(409).body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -71,6 +98,12 @@ public class CustomerController {
             response.put("message", "Customer updated successfully");
             response.put("customer", updatedCustomer);
             return ResponseEntity.ok(response);
+        } catch (DuplicateResourceException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            response.put("field", e.getField());
+            return ResponseEntity.status(409).body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -96,8 +129,16 @@ public class CustomerController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<?> searchCustomers(@RequestParam String query) {
+    public ResponseEntity<?> searchCustomers(@RequestParam String query,
+                                             @RequestParam(defaultValue = "contains") String mode,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "20") int size) {
         try {
+            if ("ranked".equalsIgnoreCase(mode)) {
+                int pageSize = Math.max(1, Math.min(size, 100));
+                List<CustomerDTO> customers = customerService.searchCustomersByNameRanked(query, Math.max(0, page), pageSize);
+                return ResponseEntity.ok(customers);
+            }
             List<CustomerDTO> customers = customerService.searchCustomersByName(query);
             return ResponseEntity.ok(customers);
         } catch (Exception e) {
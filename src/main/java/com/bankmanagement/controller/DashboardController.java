@@ -1,11 +1,18 @@
 package com.bankmanagement.controller;
 
+import com.bankmanagement.security.RateLimitFilter;
 import com.bankmanagement.service.CustomerService;
 import com.bankmanagement.service.AccountService;
+import com.bankmanagement.service.DashboardStatsService;
+import com.bankmanagement.service.DashboardStreamService;
 import com.bankmanagement.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -15,6 +22,8 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class DashboardController {
 
+    private static final Logger log = LoggerFactory.getLogger(DashboardController.class);
+
     @Autowired
     private CustomerService customerService;
 
@@ -24,70 +33,22 @@ public class DashboardController {
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Autowired
+    private DashboardStreamService dashboardStreamService;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @GetMapping("/stats")
     public ResponseEntity<?> getDashboardStats() {
-        System.out.println("🔍 Dashboard stats endpoint called");
         try {
-            Map<String, Object> stats = new HashMap<>();
-            
-            // Initialize with default values
-            stats.put("totalCustomers", 0);
-            stats.put("activeCustomers", 0);
-            stats.put("totalAccounts", 0);
-            stats.put("activeAccounts", 0);
-            stats.put("totalBalance", 0.0);
-            stats.put("totalTransactions", 0);
-            stats.put("monthlyTransactions", 0);
-            
-            System.out.println("📊 Testing customer service...");
-            try {
-                // Try to get customer statistics
-                long totalCustomers = customerService.getTotalCustomers();
-                long activeCustomers = customerService.getActiveCustomersCount();
-                stats.put("totalCustomers", totalCustomers);
-                stats.put("activeCustomers", activeCustomers);
-                System.out.println("✅ Customer service OK: " + totalCustomers + " customers");
-            } catch (Exception e) {
-                System.out.println("❌ Customer service error: " + e.getMessage());
-                e.printStackTrace();
-                // Keep default values
-            }
-            
-            System.out.println("📊 Testing account service...");
-            try {
-                // Try to get account statistics
-                long totalAccounts = accountService.getTotalAccounts();
-                long activeAccounts = accountService.getActiveAccounts();
-                double totalBalance = accountService.getTotalBalance();
-                stats.put("totalAccounts", totalAccounts);
-                stats.put("activeAccounts", activeAccounts);
-                stats.put("totalBalance", totalBalance);
-                System.out.println("✅ Account service OK: " + totalAccounts + " accounts");
-            } catch (Exception e) {
-                System.out.println("❌ Account service error: " + e.getMessage());
-                e.printStackTrace();
-                // Keep default values
-            }
-            
-            System.out.println("📊 Testing transaction service...");
-            try {
-                // Try to get transaction statistics
-                long totalTransactions = transactionService.getTotalTransactions();
-                long monthlyTransactions = transactionService.getMonthlyTransactions();
-                stats.put("totalTransactions", totalTransactions);
-                stats.put("monthlyTransactions", monthlyTransactions);
-                System.out.println("✅ Transaction service OK: " + totalTransactions + " transactions");
-            } catch (Exception e) {
-                System.out.println("❌ Transaction service error: " + e.getMessage());
-                e.printStackTrace();
-                // Keep default values
-            }
-            
-            System.out.println("✅ Returning stats: " + stats);
-            return ResponseEntity.ok(stats);
+            // One aggregate query, served from a stale-while-revalidate snapshot
+            return ResponseEntity.ok(dashboardStatsService.getStats());
         } catch (Exception e) {
-            System.out.println("❌ Fatal error in dashboard stats: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Fatal error in dashboard stats: {}", e.getMessage());
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", e.getMessage());
@@ -96,22 +57,24 @@ public class DashboardController {
         }
     }
     
-    @GetMapping("/test")
-    public ResponseEntity<?> testConnection() {
+    /**
+     * Live stats: a "snapshot" event on connect, then "delta" events with changed fields only
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamDashboardStats() {
         try {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("message", "Backend is running!");
-            response.put("timestamp", System.currentTimeMillis());
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", false);
-            response.put("message", e.getMessage());
-            return ResponseEntity.badRequest().body(response);
+            return ResponseEntity.ok(dashboardStreamService.subscribe());
+        } catch (IllegalStateException e) {
+            // Subscriber limit reached; EventSource clients retry on their own
+            return ResponseEntity.status(503).header("Retry-After", "5").build();
         }
     }
     
+    @GetMapping("/stream/stats")
+    public ResponseEntity<?> getStreamStats() {
+        return ResponseEntity.ok(dashboardStreamService.getStats());
+    }
+    
     @GetMapping("/dbstatus")
     public ResponseEntity<?> getDatabaseStatus() {
         try {
@@ -153,4 +116,16 @@ public class DashboardController {
             return ResponseEntity.badRequest().body(response);
         }
     }
+    
+    @GetMapping("/rate-limits")
+    public ResponseEntity<?> getRateLimitStats() {
+        try {
+            return ResponseEntity.ok(rateLimitFilter.getStats());
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
 }
@@ -2,6 +2,7 @@ package com.bankmanagement.controller;
 
 import com.bankmanagement.util.DatabaseManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -9,6 +10,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Admin-only database maintenance, created on first request rather than at startup
+ */
+@Lazy
 @RestController
 @RequestMapping("/api/database")
 @CrossOrigin(origins = "*")
@@ -84,11 +89,12 @@ public class DatabaseController {
     @PostMapping("/sample-data")
     public ResponseEntity<Map<String, Object>> addSampleData() {
         try {
-            databaseManager.addSampleData();
+            Map<String, Object> dataset = databaseManager.addSampleData();
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Sample data added successfully");
+            response.put("dataset", dataset);
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -0,0 +1,36 @@
+package com.bankmanagement.controller;
+
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Liveness test endpoints used while setting up the frontend. Created on first request,
+ * like the other admin-only controllers, so they cost nothing at startup.
+ */
+@Lazy
+@RestController
+@CrossOrigin(origins = "*")
+public class DiagnosticsController {
+
+    @GetMapping("/api/accounts/test")
+    public ResponseEntity<?> testAccountsEndpoint() {
+        return ok("Accounts endpoint is working");
+    }
+
+    @GetMapping("/api/dashboard/test")
+    public ResponseEntity<?> testConnection() {
+        return ok("Backend is running!");
+    }
+
+    private ResponseEntity<?> ok(String message) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", message);
+        response.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.ok(response);
+    }
+}
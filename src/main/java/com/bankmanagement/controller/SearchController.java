@@ -0,0 +1,50 @@
+package com.bankmanagement.controller;
+
+import com.bankmanagement.service.AutocompleteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<?> autocomplete(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        try {
+            long start = System.nanoTime();
+            List<Map<String, Object>> suggestions = autocompleteService.lookup(q, Math.max(1, Math.min(limit, 50)));
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("ready", autocompleteService.isReady());
+            response.put("suggestions", suggestions);
+            response.put("lookupMicros", (System.nanoTime() - start) / 1000);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    @GetMapping("/autocomplete/stats")
+    public ResponseEntity<?> autocompleteStats() {
+        try {
+            return ResponseEntity.ok(autocompleteService.getStats());
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.bankmanagement.controller;
 
 import com.bankmanagement.model.Transaction;
+import com.bankmanagement.service.OutboxRelay;
 import com.bankmanagement.service.TransactionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,37 +18,34 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class TransactionController {
 
+    private static final Logger log = LoggerFactory.getLogger(TransactionController.class);
+    // Per-row logging, sampled by SamplingTurboFilter
+    private static final Logger rowLog = LoggerFactory.getLogger("com.bankmanagement.rows.transactions");
+
     @Autowired
     private TransactionService transactionService;
 
+    @Autowired
+    private OutboxRelay outboxRelay;
+
     @GetMapping
     public ResponseEntity<?> getAllTransactions() {
         try {
-            System.out.println("🔍 Getting all transactions...");
-            System.out.println("🔍 TransactionService: " + (transactionService != null ? "OK" : "NULL"));
-            
-            // Test repository directly
-            System.out.println("🔍 Testing repository...");
-            long count = transactionService.getTotalTransactions();
-            System.out.println("🔍 Total transactions count: " + count);
-            
+            log.debug("Getting all transactions...");
             // Use custom query to get transaction data as Map to avoid entity mapping issues
             List<Map<String, Object>> transactions = transactionService.getAllTransactionsAsMap();
-            System.out.println("✅ Found " + transactions.size() + " transactions using custom query");
+            log.debug("Found {} transactions using custom query", transactions.size());
             
-            // Log each transaction
-            for (Map<String, Object> transaction : transactions) {
-                System.out.println("📝 Transaction: " + transaction.get("transactionType") + " - $" + transaction.get("amount") + 
-                                 " - Account: " + transaction.get("accountNumber") + 
-                                 " - Customer: " + transaction.get("customerName") + 
-                                 " - " + transaction.get("description"));
+            // Log each row (sampled); skipped unless row logging is enabled
+            if (rowLog.isDebugEnabled()) {
+                for (Map<String, Object> transaction : transactions) {
+                    rowLog.debug("Transaction: {} - ${} - Account: {} - Customer: {} - {}", transaction.get("transactionType"), transaction.get("amount"), transaction.get("accountNumber"), transaction.get("customerName"), transaction.get("description"));
+                }
             }
             
             return ResponseEntity.ok(transactions);
         } catch (Exception e) {
-            System.err.println("❌ Error getting transactions: " + e.getMessage());
-            System.err.println("❌ Error class: " + e.getClass().getSimpleName());
-            e.printStackTrace();
+            log.error("Error getting transactions", e);
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed to fetch transactions: " + e.getMessage());
@@ -104,7 +104,7 @@ public class TransactionController {
     @PostMapping("/recalculate-balances")
     public ResponseEntity<?> recalculateBalances() {
         try {
-            System.out.println("🔍 Recalculating all account balances...");
+            log.debug("Recalculating all account balances...");
             transactionService.recalculateAllAccountBalances();
             
             Map<String, Object> response = new HashMap<>();
@@ -112,12 +112,41 @@ public class TransactionController {
             response.put("message", "All account balances recalculated successfully");
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            System.err.println("❌ Error recalculating balances: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error recalculating balances", e);
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", "Failed to recalculate balances: " + e.getMessage());
             return ResponseEntity.status(500).body(response);
         }
     }
+    
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<?> getOutboxStats() {
+        try {
+            return ResponseEntity.ok(outboxRelay.getStats());
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * Move events parked in outbox_dead_letter back to the outbox for redelivery
+     */
+    @PostMapping("/outbox/requeue")
+    public ResponseEntity<?> requeueOutbox() {
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("requeued", outboxRelay.requeueParked());
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
 }
@@ -0,0 +1,118 @@
+package com.bankmanagement.controller;
+
+import com.bankmanagement.exception.DuplicateResourceException;
+import com.bankmanagement.exception.ServiceOverloadedException;
+import com.bankmanagement.model.Role;
+import com.bankmanagement.model.User;
+import com.bankmanagement.security.PasswordHashingService;
+import com.bankmanagement.security.RolePermissionResolver;
+import com.bankmanagement.service.LastLoginRecorder;
+import com.bankmanagement.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@RestController
+@RequestMapping("/api/users")
+@CrossOrigin(origins = "*")
+public class UserController {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private RolePermissionResolver rolePermissionResolver;
+
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+
+    @PostMapping
+    public CompletableFuture<ResponseEntity<?>> createUser(@RequestBody Map<String, Object> userData) {
+        try {
+            User user = new User(
+                    (String) userData.get("username"),
+                    (String) userData.get("password"),
+                    (String) userData.get("email"));
+            user.setFirstName((String) userData.get("firstName"));
+            user.setLastName((String) userData.get("lastName"));
+            if (user.getUsername() == null || user.getPassword() == null || user.getEmail() == null) {
+                throw new RuntimeException("Username, password and email are required");
+            }
+
+            Set<Role.RoleName> roleNames = new HashSet<>();
+            Object roles = userData.get("roles");
+            if (roles instanceof List) {
+                for (Object role : (List<?>) roles) {
+                    roleNames.add(Role.RoleName.valueOf(role.toString()));
+                }
+            }
+
+            return userService.createUser(user, roleNames)
+                    .<ResponseEntity<?>>thenApply(savedUser -> {
+                        Map<String, Object> response = new HashMap<>();
+                        response.put("success", true);
+                        response.put("message", "User created successfully");
+                        response.put("userId", savedUser.getUserId());
+                        response.put("username", savedUser.getUsername());
+                        response.put("roles", userService.getRoleNames(savedUser));
+                        return ResponseEntity.ok(response);
+                    })
+                    .exceptionally(this::errorResponse);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(errorResponse(e));
+        }
+    }
+
+    @GetMapping("/password-hashing/stats")
+    public ResponseEntity<?> getPasswordHashingStats() {
+        try {
+            return ResponseEntity.ok(passwordHashingService.getStats());
+        } catch (Exception e) {
+            return errorResponse(e);
+        }
+    }
+
+    @GetMapping("/authorization/stats")
+    public ResponseEntity<?> getAuthorizationStats() {
+        try {
+            return ResponseEntity.ok(rolePermissionResolver.getStats());
+        } catch (Exception e) {
+            return errorResponse(e);
+        }
+    }
+
+    @GetMapping("/last-login/stats")
+    public ResponseEntity<?> getLastLoginStats() {
+        try {
+            return ResponseEntity.ok(lastLoginRecorder.getStats());
+        } catch (Exception e) {
+            return errorResponse(e);
+        }
+    }
+
+    private ResponseEntity<?> errorResponse(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", cause.getMessage());
+        if (cause instanceof ServiceOverloadedException) {
+            return ResponseEntity.status(429).header("Retry-After", "1").body(response);
+        }
+        if (cause instanceof DuplicateResourceException) {
+            response.put("field", ((DuplicateResourceException) cause).getField());
+            return ResponseEntity.status(409).body(response);
+        }
+        return ResponseEntity.badRequest().body(response);
+    }
+}
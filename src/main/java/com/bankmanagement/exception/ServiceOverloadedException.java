@@ -0,0 +1,11 @@
+package com.bankmanagement.exception;
+
+/**
+ * Thrown when a bounded resource is saturated and the request should be retried later. Mapped to HTTP 429.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
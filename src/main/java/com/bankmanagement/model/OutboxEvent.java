@@ -0,0 +1,17 @@
+package com.bankmanagement.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row of the outbox table: a domain event committed together with the change it describes.
+ * The payload is a JSON document.
+ */
+public record OutboxEvent(long eventId,
+                          String aggregateType,
+                          long aggregateId,
+                          String eventType,
+                          @JsonRawValue String payload,
+                          LocalDateTime createdAt) {
+}
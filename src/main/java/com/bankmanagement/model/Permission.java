@@ -0,0 +1,13 @@
+package com.bankmanagement.model;
+
+/**
+ * Fine-grained permissions granted to roles. Used as Spring Security authorities.
+ */
+public enum Permission {
+    CUSTOMER_READ, CUSTOMER_WRITE,
+    ACCOUNT_READ, ACCOUNT_WRITE,
+    TRANSACTION_READ, TRANSACTION_WRITE,
+    DASHBOARD_READ,
+    USER_ADMIN,
+    DATABASE_ADMIN
+}
@@ -0,0 +1,101 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.Account;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain JDBC access to the accounts table for set-based and batched operations
+ * that would be too chatty through JPA.
+ */
+@Repository
+public class AccountJdbcRepository {
+
+    private static final String INSERT_ACCOUNT_SQL =
+            "INSERT INTO accounts (customer_id, account_number, account_type, balance, interest_rate, created_at, status) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Return the subset of the given customer ids that exist, in a single query
+     */
+    public Set<Long> findExistingCustomerIds(Collection<Long> customerIds) {
+        if (customerIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<Long> found = jdbcTemplate.query(
+                "SELECT customer_id FROM customers WHERE customer_id = ANY(?)",
+                ps -> {
+                    Array array = ps.getConnection().createArrayOf("bigint", customerIds.toArray());
+                    ps.setArray(1, array);
+                },
+                (rs, rowNum) -> rs.getLong(1));
+        return new HashSet<>(found);
+    }
+
+    /**
+     * Return the subset of the given account numbers that are already taken, in a single query
+     */
+    public Set<String> findExistingAccountNumbers(Collection<String> accountNumbers) {
+        if (accountNumbers.isEmpty()) {
+            return new HashSet<>();
+        }
+        List<String> found = jdbcTemplate.query(
+                "SELECT account_number FROM accounts WHERE account_number = ANY(?)",
+                ps -> {
+                    Array array = ps.getConnection().createArrayOf("varchar", accountNumbers.toArray());
+                    ps.setArray(1, array);
+                },
+                (rs, rowNum) -> rs.getString(1));
+        return new HashSet<>(found);
+    }
+
+    /**
+     * Map account numbers to account ids, in a single query
+     */
+    public Map<String, Long> findAccountIdsByNumbers(Collection<String> accountNumbers) {
+        Map<String, Long> ids = new HashMap<>();
+        if (accountNumbers.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(
+                "SELECT account_number, account_id FROM accounts WHERE account_number = ANY(?)",
+                ps -> {
+                    Array array = ps.getConnection().createArrayOf("varchar", accountNumbers.toArray());
+                    ps.setArray(1, array);
+                },
+                rs -> {
+                    ids.put(rs.getString(1), rs.getLong(2));
+                });
+        return ids;
+    }
+
+    /**
+     * Insert accounts as one JDBC batch
+     */
+    public void batchInsert(List<Account> accounts) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_ACCOUNT_SQL, accounts, accounts.size(), (ps, account) -> {
+            ps.setLong(1, account.getCustomerId());
+            ps.setString(2, account.getAccountNumber());
+            ps.setString(3, account.getAccountType().name());
+            ps.setBigDecimal(4, account.getBalance());
+            ps.setBigDecimal(5, account.getInterestRate());
+            ps.setTimestamp(6, now);
+            ps.setString(7, account.getStatus().name());
+        });
+    }
+}
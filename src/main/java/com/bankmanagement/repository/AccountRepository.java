@@ -1,19 +1,31 @@
 package com.bankmanagement.repository;
 
 import com.bankmanagement.model.Account;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     
     long countByStatus(Account.AccountStatus status);
     
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+    
     @Query("SELECT COALESCE(SUM(a.balance), 0) FROM Account a WHERE a.status = 'ACTIVE'")
     BigDecimal getTotalBalance();
     
@@ -22,4 +34,17 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
            "a.status as status, a.createdAt as createdAt " +
            "FROM Account a")
     List<Map<String, Object>> findAllAccountsAsMap();
+    
+    @Query("SELECT a.accountId as accountId, a.customerId as customerId, a.accountNumber as accountNumber, " +
+           "a.accountType as accountType, a.balance as balance, a.interestRate as interestRate, " +
+           "a.status as status, a.createdAt as createdAt " +
+           "FROM Account a WHERE a.accountId = :id")
+    List<Map<String, Object>> findAccountAsMapById(@Param("id") Long id);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT a.accountId, a.accountNumber FROM Account a")
+    Stream<Object[]> streamAccountNumbers();
+    
+    @Query("SELECT a FROM Account a JOIN FETCH a.customer WHERE a.customerId = :customerId ORDER BY a.accountId")
+    List<Account> findByCustomerIdWithCustomer(@Param("customerId") Long customerId);
 }
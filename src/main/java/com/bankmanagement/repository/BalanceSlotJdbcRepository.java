@@ -0,0 +1,130 @@
+package com.bankmanagement.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * JDBC access to account_balance_slots, the per-account credit slots used by
+ * sharded-balance accounts. An account is sharded when it has slot rows.
+ */
+@Repository
+public class BalanceSlotJdbcRepository {
+
+    private static final String FOLD_SQL =
+            "WITH old AS (SELECT account_id, slot, balance FROM account_balance_slots " +
+            "             WHERE account_id = ? AND balance <> 0 FOR UPDATE), " +
+            "drained AS (UPDATE account_balance_slots s SET balance = 0 FROM old " +
+            "            WHERE s.account_id = old.account_id AND s.slot = old.slot RETURNING old.balance AS amount) " +
+            "UPDATE accounts SET balance = balance + (SELECT COALESCE(SUM(amount), 0) FROM drained) " +
+            "WHERE account_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Slot count per sharded account
+     */
+    public Map<Long, Integer> findSlotCounts() {
+        Map<Long, Integer> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT account_id, COUNT(*) FROM account_balance_slots GROUP BY account_id",
+                rs -> {
+                    counts.put(rs.getLong(1), rs.getInt(2));
+                });
+        return counts;
+    }
+
+    public void createSlots(Long accountId, int slots) {
+        jdbcTemplate.update(
+                "INSERT INTO account_balance_slots (account_id, slot, balance) " +
+                "SELECT ?, s, 0 FROM generate_series(0, ? - 1) s ON CONFLICT DO NOTHING",
+                accountId, slots);
+    }
+
+    public void deleteSlots(Long accountId) {
+        jdbcTemplate.update("DELETE FROM account_balance_slots WHERE account_id = ?", accountId);
+    }
+
+    /**
+     * Add to one slot. Returns false when the slot no longer exists.
+     */
+    public boolean credit(Long accountId, int slot, BigDecimal amount) {
+        return jdbcTemplate.update(
+                "UPDATE account_balance_slots SET balance = balance + ? WHERE account_id = ? AND slot = ?",
+                amount, accountId, slot) > 0;
+    }
+
+    /**
+     * Move all slot balances of an account into its main accounts row
+     */
+    public void fold(Long accountId) {
+        jdbcTemplate.update(FOLD_SQL, accountId, accountId);
+    }
+
+    public BigDecimal lockMainBalance(Long accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT balance FROM accounts WHERE account_id = ? FOR UPDATE", BigDecimal.class, accountId);
+    }
+
+    public void debitMain(Long accountId, BigDecimal amount) {
+        jdbcTemplate.update("UPDATE accounts SET balance = balance - ? WHERE account_id = ?", amount, accountId);
+    }
+
+    public void creditMain(Long accountId, BigDecimal amount) {
+        jdbcTemplate.update("UPDATE accounts SET balance = balance + ? WHERE account_id = ?", amount, accountId);
+    }
+
+    public BigDecimal sumSlots(Long accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(balance), 0) FROM account_balance_slots WHERE account_id = ?",
+                BigDecimal.class, accountId);
+    }
+
+    /**
+     * Unfolded slot balance per sharded account
+     */
+    public Map<Long, BigDecimal> sumSlotsByAccount() {
+        Map<Long, BigDecimal> sums = new HashMap<>();
+        jdbcTemplate.query("SELECT account_id, SUM(balance) FROM account_balance_slots GROUP BY account_id",
+                rs -> {
+                    sums.put(rs.getLong(1), rs.getBigDecimal(2));
+                });
+        return sums;
+    }
+
+    /**
+     * Unfolded slot balance of each of the given accounts that has slots, in a single query
+     */
+    public Map<Long, BigDecimal> sumSlotsByAccounts(Collection<Long> accountIds) {
+        Map<Long, BigDecimal> sums = new HashMap<>();
+        if (accountIds.isEmpty()) {
+            return sums;
+        }
+        jdbcTemplate.query(
+                "SELECT account_id, SUM(balance) FROM account_balance_slots WHERE account_id = ANY(?) GROUP BY account_id",
+                ps -> {
+                    Array array = ps.getConnection().createArrayOf("bigint", accountIds.toArray());
+                    ps.setArray(1, array);
+                },
+                rs -> {
+                    sums.put(rs.getLong(1), rs.getBigDecimal(2));
+                });
+        return sums;
+    }
+
+    /**
+     * Unfolded slot balance across all active accounts
+     */
+    public BigDecimal sumActiveSlots() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(s.balance), 0) FROM account_balance_slots s " +
+                "JOIN accounts a ON a.account_id = s.account_id WHERE a.status = 'ACTIVE'",
+                BigDecimal.class);
+    }
+}
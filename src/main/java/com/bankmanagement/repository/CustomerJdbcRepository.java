@@ -0,0 +1,115 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.Customer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Plain JDBC access to the customers table for PostgreSQL-specific search.
+ */
+@Repository
+public class CustomerJdbcRepository {
+
+    // Must match the expression of idx_customers_name_trgm in db/migration/V1__baseline.sql
+    private static final String NAME_EXPRESSION = "(first_name || ' ' || last_name)";
+
+    private static final String TRIGRAM_SEARCH_SQL =
+            "SELECT * FROM customers " +
+            "WHERE " + NAME_EXPRESSION + " % ? OR " + NAME_EXPRESSION + " ILIKE ? " +
+            "ORDER BY similarity(" + NAME_EXPRESSION + ", ?) DESC, customer_id " +
+            "LIMIT ? OFFSET ?";
+
+    private static final RowMapper<Customer> CUSTOMER_ROW_MAPPER = (rs, rowNum) -> {
+        Customer customer = new Customer();
+        customer.setCustomerId(rs.getLong("customer_id"));
+        customer.setFirstName(rs.getString("first_name"));
+        customer.setLastName(rs.getString("last_name"));
+        customer.setAddress(rs.getString("address"));
+        customer.setPhone(rs.getString("phone"));
+        customer.setEmail(rs.getString("email"));
+        Date dateOfBirth = rs.getDate("date_of_birth");
+        customer.setDateOfBirth(dateOfBirth != null ? dateOfBirth.toLocalDate() : null);
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        customer.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        customer.setIsActive(rs.getBoolean("is_active"));
+        return customer;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // undefined_function and undefined_object: the extension, an operator or the index is missing
+    private static final Set<String> MISSING_TRIGRAM_SQL_STATES = Set.of("42883", "42704");
+
+    private volatile Boolean trigramAvailable;
+
+    /**
+     * Whether the pg_trgm extension is installed. Checked once and cached; a failed
+     * check is not cached, so a transient error does not disable the ranked search.
+     */
+    public boolean isTrigramAvailable() {
+        Boolean available = trigramAvailable;
+        if (available == null) {
+            try {
+                available = jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm')", Boolean.class);
+            } catch (DataAccessException e) {
+                return false;
+            }
+            trigramAvailable = available;
+        }
+        return Boolean.TRUE.equals(available);
+    }
+
+    public void markTrigramUnavailable() {
+        trigramAvailable = false;
+    }
+
+    /**
+     * Whether a failed trigram search means pg_trgm is missing rather than a transient error
+     */
+    public boolean isMissingTrigramSupport(DataAccessException e) {
+        return e.getMostSpecificCause() instanceof SQLException sqlException
+                && MISSING_TRIGRAM_SQL_STATES.contains(sqlException.getSQLState());
+    }
+
+    /**
+     * Fuzzy and substring name search ranked by trigram similarity.
+     * Both predicates are served by the GIN trigram index on the full name.
+     * Inside a transaction it runs in a savepoint, so a failure leaves the caller's
+     * transaction usable for a fallback. JpaTransactionManager cannot create savepoints
+     * through Hibernate, so this sets one on the transaction's connection directly.
+     */
+    public List<Customer> searchByNameTrigram(String name, int limit, long offset) {
+        String pattern = "%" + escapeLike(name) + "%";
+        return jdbcTemplate.execute((ConnectionCallback<List<Customer>>) connection -> {
+            if (connection.getAutoCommit()) {
+                return jdbcTemplate.query(TRIGRAM_SEARCH_SQL, CUSTOMER_ROW_MAPPER, name, pattern, name, limit, offset);
+            }
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                List<Customer> customers = jdbcTemplate.query(TRIGRAM_SEARCH_SQL, CUSTOMER_ROW_MAPPER, name, pattern, name, limit, offset);
+                connection.releaseSavepoint(savepoint);
+                return customers;
+            } catch (DataAccessException e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+        });
+    }
+
+    private String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,13 +1,18 @@
 package com.bankmanagement.repository;
 
 import com.bankmanagement.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
@@ -23,6 +28,9 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     @Query("SELECT c FROM Customer c WHERE c.firstName LIKE %:name% OR c.lastName LIKE %:name%")
     List<Customer> findByNameContaining(@Param("name") String name);
     
+    @Query("SELECT c FROM Customer c WHERE c.firstName LIKE %:name% OR c.lastName LIKE %:name% ORDER BY c.customerId")
+    List<Customer> findByNameContaining(@Param("name") String name, Pageable pageable);
+    
     @Query("SELECT c FROM Customer c WHERE c.email LIKE %:email%")
     List<Customer> findByEmailContaining(@Param("email") String email);
     
@@ -31,4 +39,8 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     boolean existsByPhone(String phone);
     
     long countByIsActiveTrue();
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT c.customerId, c.firstName, c.lastName, c.email, c.phone FROM Customer c")
+    Stream<Object[]> streamSearchFields();
 }
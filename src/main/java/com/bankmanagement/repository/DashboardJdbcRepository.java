@@ -0,0 +1,61 @@
+package com.bankmanagement.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Dashboard aggregates in a single round trip.
+ */
+@Repository
+public class DashboardJdbcRepository {
+
+    // One scan per table; the balance includes unfolded shard slots of active accounts
+    private static final String STATS_SQL =
+            "SELECT c.total_customers, c.active_customers, " +
+            "a.total_accounts, a.active_accounts, a.active_balance + s.slot_balance AS total_balance, " +
+            "t.total_transactions, t.monthly_transactions " +
+            "FROM (SELECT COUNT(*) AS total_customers, " +
+            "             COUNT(*) FILTER (WHERE is_active) AS active_customers " +
+            "      FROM customers) c, " +
+            "     (SELECT COUNT(*) AS total_accounts, " +
+            "             COUNT(*) FILTER (WHERE status = 'ACTIVE') AS active_accounts, " +
+            "             COALESCE(SUM(balance) FILTER (WHERE status = 'ACTIVE'), 0) AS active_balance " +
+            "      FROM accounts) a, " +
+            "     (SELECT COALESCE(SUM(sl.balance), 0) AS slot_balance " +
+            "      FROM account_balance_slots sl JOIN accounts ac ON ac.account_id = sl.account_id " +
+            "      WHERE ac.status = 'ACTIVE') s, " +
+            "     (SELECT COUNT(*) AS total_transactions, " +
+            "             COUNT(*) FILTER (WHERE transaction_date > ?) AS monthly_transactions " +
+            "      FROM transactions) t";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Customer, account and transaction totals, with transactions counted from the given month start.
+     * Read-only so it runs on the replica when one is configured; the snapshot is stale by design.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> loadStats(LocalDateTime startOfMonth) {
+        return jdbcTemplate.queryForObject(STATS_SQL, (rs, rowNum) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("totalCustomers", rs.getLong("total_customers"));
+            stats.put("activeCustomers", rs.getLong("active_customers"));
+            stats.put("totalAccounts", rs.getLong("total_accounts"));
+            stats.put("activeAccounts", rs.getLong("active_accounts"));
+            BigDecimal totalBalance = rs.getBigDecimal("total_balance");
+            stats.put("totalBalance", totalBalance == null ? 0.0 : totalBalance.doubleValue());
+            stats.put("totalTransactions", rs.getLong("total_transactions"));
+            stats.put("monthlyTransactions", rs.getLong("monthly_transactions"));
+            return stats;
+        }, Timestamp.valueOf(startOfMonth));
+    }
+}
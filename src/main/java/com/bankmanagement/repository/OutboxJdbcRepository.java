@@ -0,0 +1,130 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Plain JDBC access to the outbox table.
+ */
+@Repository
+public class OutboxJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Append an event; joins the caller's transaction
+     */
+    public void insert(String aggregateType, long aggregateId, String eventType, String payload) {
+        jdbcTemplate.update(
+                "INSERT INTO outbox (aggregate_type, aggregate_id, event_type, payload, created_at) VALUES (?, ?, ?, ?, ?)",
+                aggregateType, aggregateId, eventType, payload, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    /**
+     * Claim the oldest events that are not leased to another relay, leasing them for
+     * leaseMillis. The claim commits on its own, so no row lock or connection is held
+     * while the events are delivered; a relay that dies mid-delivery only delays its
+     * events until the lease runs out.
+     */
+    public List<OutboxEvent> claimBatch(int limit, long leaseMillis) {
+        List<OutboxEvent> events = jdbcTemplate.query(
+                "UPDATE outbox SET locked_until = now() + ? * INTERVAL '1 millisecond' WHERE event_id IN (" +
+                "SELECT event_id FROM outbox WHERE locked_until IS NULL OR locked_until < now() " +
+                "ORDER BY event_id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                "RETURNING event_id, aggregate_type, aggregate_id, event_type, payload, created_at",
+                (rs, rowNum) -> new OutboxEvent(
+                        rs.getLong("event_id"),
+                        rs.getString("aggregate_type"),
+                        rs.getLong("aggregate_id"),
+                        rs.getString("event_type"),
+                        rs.getString("payload"),
+                        rs.getTimestamp("created_at").toLocalDateTime()),
+                leaseMillis, limit);
+        // RETURNING does not keep the subquery's order
+        List<OutboxEvent> ordered = new ArrayList<>(events);
+        ordered.sort(Comparator.comparingLong(OutboxEvent::eventId));
+        return ordered;
+    }
+
+    /**
+     * Give claimed events back without counting an attempt against them
+     */
+    public void release(List<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE outbox SET locked_until = NULL WHERE event_id = ANY(?)", ps -> {
+            Array array = ps.getConnection().createArrayOf("bigint", eventIds.toArray());
+            ps.setArray(1, array);
+        });
+    }
+
+    /**
+     * Count a failed delivery of one event and hold it back before the next try, for
+     * backoffMillis doubled per earlier failure and at most maxBackoffMillis. Returns the
+     * number of failed attempts so far, or 0 if the event is gone.
+     */
+    public int recordFailure(long eventId, String error, long backoffMillis, long maxBackoffMillis) {
+        List<Integer> attempts = jdbcTemplate.queryForList(
+                "UPDATE outbox SET attempts = attempts + 1, last_error = ?, " +
+                "locked_until = now() + LEAST(? * power(2, LEAST(attempts, 20)), ?) * INTERVAL '1 millisecond' " +
+                "WHERE event_id = ? RETURNING attempts",
+                Integer.class, error, backoffMillis, maxBackoffMillis, eventId);
+        return attempts.isEmpty() ? 0 : attempts.get(0);
+    }
+
+    /**
+     * Move an event to outbox_dead_letter. Must run in a transaction.
+     */
+    public void park(long eventId) {
+        jdbcTemplate.update(
+                "INSERT INTO outbox_dead_letter (event_id, aggregate_type, aggregate_id, event_type, payload, created_at, attempts, last_error) " +
+                "SELECT event_id, aggregate_type, aggregate_id, event_type, payload, created_at, attempts, last_error " +
+                "FROM outbox WHERE event_id = ? ON CONFLICT (event_id) DO NOTHING",
+                eventId);
+        jdbcTemplate.update("DELETE FROM outbox WHERE event_id = ?", eventId);
+    }
+
+    /**
+     * Put every parked event back in the outbox with a fresh attempt count. Must run in a
+     * transaction. Returns the number of events requeued.
+     */
+    public int requeueParked() {
+        int requeued = jdbcTemplate.update(
+                "INSERT INTO outbox (event_id, aggregate_type, aggregate_id, event_type, payload, created_at) " +
+                "SELECT event_id, aggregate_type, aggregate_id, event_type, payload, created_at FROM outbox_dead_letter " +
+                "ON CONFLICT (event_id) DO NOTHING");
+        jdbcTemplate.update("DELETE FROM outbox_dead_letter");
+        return requeued;
+    }
+
+    public void deleteByIds(List<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM outbox WHERE event_id = ANY(?)", ps -> {
+            Array array = ps.getConnection().createArrayOf("bigint", eventIds.toArray());
+            ps.setArray(1, array);
+        });
+    }
+
+    public long countPending() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    public long countParked() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_dead_letter", Long.class);
+        return count == null ? 0 : count;
+    }
+}
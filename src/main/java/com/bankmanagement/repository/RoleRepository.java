@@ -0,0 +1,14 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.Role;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoleRepository extends JpaRepository<Role, Long> {
+    
+    List<Role> findByRoleNameIn(Collection<Role.RoleName> roleNames);
+}
@@ -0,0 +1,56 @@
+package com.bankmanagement.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access to the transactions table for queries JPQL cannot express well.
+ */
+@Repository
+public class TransactionJdbcRepository {
+
+    private static final String RECENT_BY_ACCOUNT_SQL =
+            "SELECT transaction_id, account_id, transaction_type, amount, transaction_date, description, destination_account_id " +
+            "FROM (SELECT t.*, ROW_NUMBER() OVER (PARTITION BY t.account_id ORDER BY t.transaction_date DESC, t.transaction_id DESC) AS rn " +
+            "      FROM transactions t WHERE t.account_id = ANY(?)) recent " +
+            "WHERE rn <= ? ORDER BY account_id, transaction_date DESC, transaction_id DESC";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Return the newest {@code limit} transactions of each given account, in a single windowed query.
+     * The limit is per account, so up to accountIds.size() x limit rows come back.
+     */
+    public List<Map<String, Object>> findRecentByAccountIds(Collection<Long> accountIds, int limit) {
+        if (accountIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(RECENT_BY_ACCOUNT_SQL,
+                ps -> {
+                    Array array = ps.getConnection().createArrayOf("bigint", accountIds.toArray());
+                    ps.setArray(1, array);
+                    ps.setInt(2, limit);
+                },
+                (rs, rowNum) -> {
+                    Map<String, Object> transaction = new LinkedHashMap<>();
+                    transaction.put("transactionId", rs.getLong("transaction_id"));
+                    transaction.put("accountId", rs.getLong("account_id"));
+                    transaction.put("transactionType", rs.getString("transaction_type"));
+                    transaction.put("amount", rs.getBigDecimal("amount"));
+                    Timestamp date = rs.getTimestamp("transaction_date");
+                    transaction.put("transactionDate", date != null ? date.toLocalDateTime() : null);
+                    transaction.put("description", rs.getString("description"));
+                    transaction.put("destinationAccountId", rs.getObject("destination_account_id", Long.class));
+                    return transaction;
+                });
+    }
+}
@@ -0,0 +1,36 @@
+package com.bankmanagement.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC access to the users table for batched writes.
+ */
+@Repository
+public class UserJdbcRepository {
+
+    // Never move last_login backwards if an older flush lands late
+    private static final String UPDATE_LAST_LOGIN_SQL =
+            "UPDATE users SET last_login = ? WHERE user_id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Update last_login for many users as one JDBC batch, in the order given
+     */
+    public void batchUpdateLastLogin(List<Map.Entry<Long, LocalDateTime>> lastLogins) {
+        jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, lastLogins, lastLogins.size(), (ps, entry) -> {
+            Timestamp lastLogin = Timestamp.valueOf(entry.getValue());
+            ps.setTimestamp(1, lastLogin);
+            ps.setLong(2, entry.getKey());
+            ps.setTimestamp(3, lastLogin);
+        });
+    }
+}
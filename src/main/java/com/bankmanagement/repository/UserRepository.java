@@ -0,0 +1,20 @@
+package com.bankmanagement.repository;
+
+import com.bankmanagement.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserRepository extends JpaRepository<User, Long> {
+    
+    Optional<User> findByUsername(String username);
+    
+    boolean existsByUsername(String username);
+    
+    @Query("SELECT u.username, r.roleName FROM User u JOIN u.roles r WHERE u.isEnabled = true")
+    List<Object[]> findEnabledUsernameRolePairs();
+}
@@ -0,0 +1,77 @@
+package com.bankmanagement.security;
+
+import com.bankmanagement.model.Permission;
+import com.bankmanagement.model.Role;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Authenticates requests carrying an {@code Authorization: Bearer} token.
+ * Requests without a token pass through unauthenticated; a bad token is rejected with 401.
+ * Staff roles come from the RolePermissionResolver snapshot rather than the token, so
+ * role changes and disabled users take effect without waiting for the token to expire.
+ * Not a bean on purpose, so the servlet container does not register it a second time.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final RolePermissionResolver rolePermissionResolver;
+
+    public JwtAuthenticationFilter(JwtService jwtService, RolePermissionResolver rolePermissionResolver) {
+        this.jwtService = jwtService;
+        this.rolePermissionResolver = rolePermissionResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String header = request.getHeader("Authorization");
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        JwtService.VerifiedToken token;
+        try {
+            token = jwtService.verify(header.substring(BEARER_PREFIX.length()).trim());
+        } catch (JwtException | IllegalArgumentException e) {
+            token = null;
+        }
+        // Only staff tokens, which carry a userId claim, are issued; customer tokens from
+        // before customer logins stopped issuing them are refused
+        if (token == null || !token.claims().containsKey("userId")) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"success\":false,\"message\":\"Invalid or expired token\"}");
+            return;
+        }
+
+        Set<Role.RoleName> roles = rolePermissionResolver.rolesOf(token.subject());
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        for (Role.RoleName role : roles) {
+            authorities.add(new SimpleGrantedAuthority(role.name()));
+        }
+        for (Permission permission : rolePermissionResolver.permissionsOf(roles)) {
+            authorities.add(new SimpleGrantedAuthority(permission.name()));
+        }
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(token.subject(), null, authorities);
+        authentication.setDetails(token.claims());
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,167 @@
+package com.bankmanagement.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and verifies HS256 JWTs. Verified tokens are cached by their SHA-256
+ * hash until they expire, so repeat requests skip signature checking and JSON parsing.
+ */
+@Service
+public class JwtService {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtService.class);
+
+    @Value("${jwt.secret:}")
+    private String secret;
+
+    // When true, startup fails without a secret instead of signing with a random key
+    @Value("${jwt.secret-required:false}")
+    private boolean secretRequired;
+
+    @Value("${jwt.expiration:86400000}")
+    private long expirationMillis;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    private SecretKey signingKey;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * Claims of a token that passed verification
+     */
+    public record VerifiedToken(String subject, List<String> roles, Map<String, Object> claims, long expiresAtMillis) {
+    }
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(keyBytes());
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remaining = token.expiresAtMillis() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public String issueToken(String subject, List<String> roles, Map<String, Object> extraClaims) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setClaims(extraClaims)
+                .setSubject(subject)
+                .claim("roles", roles)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMillis))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    public Cache<String, VerifiedToken> getVerifiedTokenCache() {
+        return verifiedTokens;
+    }
+
+    /**
+     * Verify a token, serving repeat tokens from the cache.
+     * Throws JwtException when the token is invalid or expired.
+     */
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > System.currentTimeMillis()) {
+                return cached;
+            }
+            verifiedTokens.invalidate(key);
+            throw new JwtException("Token expired");
+        }
+        VerifiedToken verified = parse(token);
+        verifiedTokens.put(key, verified);
+        return verified;
+    }
+
+    @SuppressWarnings("unchecked")
+    private VerifiedToken parse(String token) {
+        Claims claims = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        Object roles = claims.get("roles");
+        return new VerifiedToken(
+                claims.getSubject(),
+                roles instanceof List ? (List<String>) roles : List.of(),
+                Collections.unmodifiableMap(new HashMap<>(claims)),
+                claims.getExpiration().getTime());
+    }
+
+    private byte[] keyBytes() {
+        if (secret == null || secret.isBlank()) {
+            if (secretRequired) {
+                throw new IllegalStateException("jwt.secret (JWT_SECRET) must be set");
+            }
+            log.warn("jwt.secret is not set; using a random key, tokens will not survive a restart");
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            return random;
+        }
+        byte[] bytes = secret.getBytes(StandardCharsets.UTF_8);
+        // HS256 needs at least 256 bits; stretch shorter secrets instead of failing startup
+        return bytes.length >= 32 ? bytes : sha256(bytes);
+    }
+
+    private static String hash(String token) {
+        return Base64.getEncoder().encodeToString(sha256(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
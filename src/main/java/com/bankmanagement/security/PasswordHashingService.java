@@ -0,0 +1,162 @@
+package com.bankmanagement.security;
+
+import com.bankmanagement.exception.ServiceOverloadedException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing and verification on a dedicated bounded pool so a login
+ * burst cannot tie up the request threads. When the queue is full the work is
+ * rejected with a ServiceOverloadedException instead of waiting.
+ *
+ * The BCrypt cost is picked at startup as the highest strength whose measured
+ * hash time stays within the configured target.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+
+    private final ThreadPoolExecutor executor;
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final String dummyHash;
+
+    private final AtomicLong hashCount = new AtomicLong();
+    private final AtomicLong hashNanos = new AtomicLong();
+    private final AtomicLong maxHashNanos = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public PasswordHashingService(@Value("${security.password.hashing.threads:0}") int threads,
+                                  @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${security.password.bcrypt.strength:0}") int configuredStrength,
+                                  @Value("${security.password.bcrypt.target-millis:100}") long targetMillis) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.strength = configuredStrength > 0 ? configuredStrength : tuneStrength(targetMillis);
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.dummyHash = encoder.encode("dummy-password-for-timing");
+        log.info("Password hashing: BCrypt strength {}, {} threads, queue capacity {}", strength, poolSize, queueCapacity);
+    }
+
+    public BCryptPasswordEncoder getEncoder() {
+        return encoder;
+    }
+
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Verify a password. A null hash is checked against a dummy hash so unknown
+     * users take as long as known ones.
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword == null) {
+            return submit(() -> {
+                encoder.matches(rawPassword, dummyHash);
+                return false;
+            });
+        }
+        return submit(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    public Map<String, Object> getStats() {
+        long count = hashCount.get();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("bcryptStrength", strength);
+        stats.put("poolSize", executor.getPoolSize());
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueue().size());
+        stats.put("queueRemainingCapacity", executor.getQueue().remainingCapacity());
+        stats.put("completed", count);
+        stats.put("rejected", rejected.get());
+        stats.put("avgHashMillis", count == 0 ? 0.0 : hashNanos.get() / (double) count / 1_000_000);
+        stats.put("maxHashMillis", maxHashNanos.get() / 1_000_000.0);
+        return stats;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                try {
+                    return work.get();
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    hashCount.incrementAndGet();
+                    hashNanos.addAndGet(elapsed);
+                    maxHashNanos.accumulateAndGet(elapsed, Math::max);
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            return CompletableFuture.failedFuture(
+                    new ServiceOverloadedException("Too many authentication requests, please retry shortly"));
+        }
+    }
+
+    private static int tuneStrength(long targetMillis) {
+        int chosen = MIN_STRENGTH;
+        for (int candidate = MIN_STRENGTH; candidate <= MAX_STRENGTH; candidate++) {
+            BCryptPasswordEncoder candidateEncoder = new BCryptPasswordEncoder(candidate);
+            // First run warms up the JIT, second one is measured
+            candidateEncoder.encode("calibration");
+            long start = System.nanoTime();
+            candidateEncoder.encode("calibration");
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (millis > targetMillis) {
+                break;
+            }
+            chosen = candidate;
+            // Each step doubles the cost; stop early when the next one would clearly overshoot
+            if (millis * 2 > targetMillis) {
+                break;
+            }
+        }
+        return chosen;
+    }
+}
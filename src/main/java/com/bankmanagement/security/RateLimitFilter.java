@@ -0,0 +1,224 @@
+package com.bankmanagement.security;
+
+import com.bankmanagement.config.RateLimitProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control in front of everything else, including Spring Security.
+ *
+ * Per-client token buckets are kept per configured route, keyed by client IP, or by
+ * X-API-Key when the key is one of rate-limit.api-keys; unknown keys are ignored so a
+ * client cannot get a fresh bucket by sending a new key. Behind proxies the IP is the
+ * X-Forwarded-For entry rate-limit.trusted-proxy-hops from the right, which the client
+ * cannot write itself. Each bucket is a single AtomicLong holding its theoretical arrival
+ * time (GCRA), so admission is one CAS with no locks. Buckets that have refilled completely carry no state and are evicted on a
+ * schedule. Once rate-limit.max-tracked-clients buckets exist, new clients share one
+ * overflow bucket per route until eviction makes room.
+ *
+ * Writes under /api/transactions also pass a fair semaphore. A request that cannot
+ * get a permit quickly is shed with 503, well before the Hikari pool would time out.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String TRANSACTION_PATH = "/api/transactions/**";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> rejectedByRule = new ConcurrentHashMap<>();
+    private final AtomicLong shedTransactions = new AtomicLong();
+    private final AtomicLong overflowRequests = new AtomicLong();
+
+    private final RateLimitProperties properties;
+    private final Semaphore transactionPermits;
+
+    /**
+     * GCRA state: the time at which the bucket will be full again
+     */
+    private static final class Bucket {
+        private final AtomicLong theoreticalArrival;
+
+        private Bucket(long now) {
+            this.theoreticalArrival = new AtomicLong(now);
+        }
+
+        /**
+         * Returns 0 when admitted, or the nanoseconds to wait before retrying
+         */
+        private long tryAcquire(long now, long intervalNanos, long toleranceNanos) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long base = Math.max(tat, now);
+                if (base - now > toleranceNanos) {
+                    return base - now - toleranceNanos;
+                }
+                if (theoreticalArrival.compareAndSet(tat, base + intervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+    }
+
+    @Autowired
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.transactionPermits = new Semaphore(Math.max(1, properties.getTransactions().getMaxConcurrent()), true);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getRequestURI();
+        String method = request.getMethod();
+        long now = System.nanoTime();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            if (!matches(rule, method, path)) {
+                continue;
+            }
+            long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rule.getRefillPerSecond());
+            long toleranceNanos = intervalNanos * Math.max(0, rule.getCapacity() - 1);
+            Bucket bucket = bucketFor(rule.getName(), clientKey(request), now);
+            long waitNanos = bucket.tryAcquire(now, intervalNanos, toleranceNanos);
+            if (waitNanos > 0) {
+                rejectedByRule.computeIfAbsent(rule.getName(), name -> new AtomicLong()).incrementAndGet();
+                reject(response, 429, waitNanos, "Rate limit exceeded, please retry later");
+                return;
+            }
+        }
+
+        if (!"GET".equals(method) && pathMatcher.match(TRANSACTION_PATH, path)) {
+            boolean acquired;
+            try {
+                acquired = transactionPermits.tryAcquire(properties.getTransactions().getAcquireTimeoutMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                shedTransactions.incrementAndGet();
+                reject(response, 503, TimeUnit.SECONDS.toNanos(1), "Server busy, please retry shortly");
+                return;
+            }
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                transactionPermits.release();
+            }
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Bucket bucketFor(String rule, String client, long now) {
+        String key = rule + "|" + client;
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= properties.getMaxTrackedClients()) {
+            overflowRequests.incrementAndGet();
+            key = rule + "|overflow";
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(now));
+    }
+
+    /**
+     * Drop buckets that have been idle long enough to be full again
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long cutoff = System.nanoTime() - TimeUnit.SECONDS.toNanos(properties.getIdleEvictionSeconds());
+        buckets.entrySet().removeIf(entry -> entry.getValue().theoreticalArrival.get() < cutoff);
+    }
+
+    public int getTrackedClients() {
+        return buckets.size();
+    }
+
+    public long getRejectedCount(String rule) {
+        AtomicLong count = rejectedByRule.get(rule);
+        return count == null ? 0 : count.get();
+    }
+
+    public int getTransactionPermitsAvailable() {
+        return transactionPermits.availablePermits();
+    }
+
+    public int getTransactionRequestsQueued() {
+        return transactionPermits.getQueueLength();
+    }
+
+    public long getShedTransactions() {
+        return shedTransactions.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("trackedClients", buckets.size());
+        stats.put("overflowRequests", overflowRequests.get());
+        Map<String, Long> rejected = new LinkedHashMap<>();
+        rejectedByRule.forEach((rule, count) -> rejected.put(rule, count.get()));
+        stats.put("rejectedByRule", rejected);
+        stats.put("transactionPermitsAvailable", transactionPermits.availablePermits());
+        stats.put("transactionRequestsQueued", transactionPermits.getQueueLength());
+        stats.put("transactionRequestsShed", shedTransactions.get());
+        return stats;
+    }
+
+    private boolean matches(RateLimitProperties.Rule rule, String method, String path) {
+        return (rule.getMethod() == null || rule.getMethod().equalsIgnoreCase(method))
+                && rule.getPath() != null && pathMatcher.match(rule.getPath(), path);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader("X-API-Key");
+        if (apiKey != null && properties.getApiKeys().contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isEmpty()) {
+                // Entries left of the ones our proxies appended are whatever the client sent
+                String[] hops = forwardedFor.split(",");
+                int client = hops.length - Math.max(1, properties.getTrustedProxyHops());
+                if (client >= 0 && !hops[client].isBlank()) {
+                    return "ip:" + hops[client].trim();
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, int status, long waitNanos, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(status);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType("application/json");
+        response.getWriter().write("{\"success\":false,\"message\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,181 @@
+package com.bankmanagement.security;
+
+import com.bankmanagement.model.Permission;
+import com.bankmanagement.model.Role;
+import com.bankmanagement.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves roles and permissions from an immutable in-memory snapshot.
+ *
+ * The snapshot holds the role to permission mapping from configuration and the
+ * role set of every enabled staff user, loaded with one query. It is rebuilt
+ * after user or role changes commit and on a schedule, then swapped in with a
+ * single volatile write. Lookups only read the current snapshot: no locks and
+ * no database access.
+ */
+@Service
+@ConfigurationProperties(prefix = "authorization")
+public class RolePermissionResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(RolePermissionResolver.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    // Bound from authorization.role-permissions
+    private Map<String, List<String>> rolePermissions = new HashMap<>();
+
+    // Parsed from rolePermissions at startup; unknown role or permission names fail startup
+    private Map<Role.RoleName, Set<Permission>> configuredPermissions = Map.of();
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), System.currentTimeMillis());
+
+    // Taken before each refresh query; a refresh only publishes if no later one already has,
+    // so a slow scheduled refresh cannot replace the snapshot of a refresh started after a commit
+    private final AtomicLong refreshGeneration = new AtomicLong();
+    private long publishedGeneration;
+
+    private record Snapshot(Map<Role.RoleName, Set<Permission>> rolePermissions,
+                            Map<String, Set<Role.RoleName>> userRoles,
+                            long builtAtMillis) {
+    }
+
+    public Map<String, List<String>> getRolePermissions() {
+        return rolePermissions;
+    }
+
+    public void setRolePermissions(Map<String, List<String>> rolePermissions) {
+        this.rolePermissions = rolePermissions;
+    }
+
+    /**
+     * Parse authorization.role-permissions, failing startup on a role or permission
+     * name that does not exist rather than serving an empty mapping
+     */
+    @PostConstruct
+    public void parseRolePermissions() {
+        Map<Role.RoleName, Set<Permission>> permissions = new EnumMap<>(Role.RoleName.class);
+        rolePermissions.forEach((role, names) -> {
+            Set<Permission> granted = EnumSet.noneOf(Permission.class);
+            for (String name : names != null ? names : List.<String>of()) {
+                granted.add(parse(Permission.class, name, "permission", role));
+            }
+            permissions.put(parse(Role.RoleName.class, role, "role", role), Collections.unmodifiableSet(granted));
+        });
+        configuredPermissions = Collections.unmodifiableMap(permissions);
+        snapshot = new Snapshot(configuredPermissions, Map.of(), System.currentTimeMillis());
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String name, String kind, String role) {
+        try {
+            return Enum.valueOf(type, name.trim());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalStateException("Invalid authorization.role-permissions entry for " + role
+                    + ": unknown " + kind + " '" + name + "'");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${authorization.refresh-interval-ms:60000}")
+    public void refresh() {
+        long generation = refreshGeneration.incrementAndGet();
+        try {
+            Map<String, Set<Role.RoleName>> userRoles = new HashMap<>();
+            for (Object[] row : userRepository.findEnabledUsernameRolePairs()) {
+                userRoles.computeIfAbsent((String) row[0], username -> EnumSet.noneOf(Role.RoleName.class))
+                        .add((Role.RoleName) row[1]);
+            }
+            userRoles.replaceAll((username, roles) -> Collections.unmodifiableSet(roles));
+
+            publish(generation, new Snapshot(configuredPermissions,
+                    Collections.unmodifiableMap(userRoles), System.currentTimeMillis()));
+        } catch (Exception e) {
+            // Keep serving the previous snapshot
+            log.error("Failed to refresh role snapshot: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void publish(long generation, Snapshot built) {
+        if (generation > publishedGeneration) {
+            publishedGeneration = generation;
+            snapshot = built;
+        }
+    }
+
+    /**
+     * Rebuild the snapshot once the current transaction commits, or now if there is none
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+
+    /**
+     * Current roles of a staff user; empty when the user is unknown or disabled
+     */
+    public Set<Role.RoleName> rolesOf(String username) {
+        return snapshot.userRoles().getOrDefault(username, Set.of());
+    }
+
+    public Set<Permission> permissionsOf(Collection<Role.RoleName> roles) {
+        Map<Role.RoleName, Set<Permission>> mapping = snapshot.rolePermissions();
+        Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+        for (Role.RoleName role : roles) {
+            permissions.addAll(mapping.getOrDefault(role, Set.of()));
+        }
+        return permissions;
+    }
+
+    public boolean hasPermission(Collection<Role.RoleName> roles, Permission permission) {
+        Map<Role.RoleName, Set<Permission>> mapping = snapshot.rolePermissions();
+        for (Role.RoleName role : roles) {
+            if (mapping.getOrDefault(role, Set.of()).contains(permission)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("roles", current.rolePermissions().size());
+        stats.put("users", current.userRoles().size());
+        stats.put("builtAtMillis", current.builtAtMillis());
+        return stats;
+    }
+}
@@ -1,73 +1,338 @@
 package com.bankmanagement.service;
 
 import com.bankmanagement.model.Account;
+import com.bankmanagement.repository.AccountJdbcRepository;
 import com.bankmanagement.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
 
 @Service
 @Transactional
 public class AccountService {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountService.class);
+    
+    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("^[0-9]{8,12}$");
+    private static final long GENERATED_ACCOUNT_NUMBER_MIN = 1_000_000_000L;
+    private static final long GENERATED_ACCOUNT_NUMBER_MAX = 10_000_000_000L;
     
     @Autowired
     private AccountRepository accountRepository;
     
+    @Autowired
+    private AccountJdbcRepository accountJdbcRepository;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private ShardedBalanceService shardedBalanceService;
+    
+    @Autowired
+    private AutocompleteService autocompleteService;
+    
+    @Value("${accounts.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
+    
+    @Value("${accounts.bulk.max-size:50000}")
+    private int bulkMaxSize;
+    
+    @Transactional(readOnly = true)
     public List<Account> getAllAccounts() {
         return accountRepository.findAll();
     }
     
-    public Optional<Account> getAccountById(Long id) {
-        return accountRepository.findById(id);
-    }
-    
     public Account createAccount(Account account) {
         // Ensure account is created as ACTIVE by default
         if (account.getStatus() == null) {
             account.setStatus(Account.AccountStatus.ACTIVE);
         }
-        return accountRepository.save(account);
+        Account savedAccount = accountRepository.save(account);
+        autocompleteService.indexAccount(savedAccount.getAccountId(), savedAccount.getAccountNumber());
+        return savedAccount;
     }
     
-    public Account updateAccount(Long id, Account accountDetails) {
-        Account account = accountRepository.findById(id)
+    /**
+     * Apply the fields present in changes (customerId, accountNumber, accountType, balance,
+     * interestRate, status) to the account; absent or null fields keep their current value. The row
+     * is locked for the update, so a debit committing in between is not overwritten. A
+     * sharded account is folded before its balance is compared, and the balance can only be
+     * sent back unchanged: the row would otherwise be overwritten while the slots still hold credits.
+     */
+    @Transactional
+    public Account updateAccount(Long id, Map<String, Object> changes) {
+        boolean shardedBalance = changes.get("balance") != null && shardedBalanceService.isSharded(id);
+        if (shardedBalance) {
+            shardedBalanceService.foldIfSharded(id);
+        }
+        Account account = accountRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
         
-        account.setCustomerId(accountDetails.getCustomerId());
-        account.setAccountNumber(accountDetails.getAccountNumber());
-        account.setAccountType(accountDetails.getAccountType());
-        account.setBalance(accountDetails.getBalance());
-        account.setInterestRate(accountDetails.getInterestRate());
-        account.setStatus(accountDetails.getStatus());
+        String previousNumber = account.getAccountNumber();
+        if (changes.get("customerId") != null) {
+            account.setCustomerId(Long.valueOf(changes.get("customerId").toString()));
+        }
+        if (changes.get("accountNumber") != null) {
+            account.setAccountNumber(changes.get("accountNumber").toString());
+        }
+        if (changes.get("accountType") != null) {
+            account.setAccountType(Account.AccountType.valueOf(changes.get("accountType").toString()));
+        }
+        if (changes.get("balance") != null) {
+            BigDecimal balance = new BigDecimal(changes.get("balance").toString());
+            if (shardedBalance && balance.compareTo(account.getBalance()) != 0) {
+                throw new RuntimeException("Balance of a sharded account cannot be edited; disable sharded balance first");
+            }
+            account.setBalance(balance);
+        }
+        if (changes.get("interestRate") != null) {
+            account.setInterestRate(new BigDecimal(changes.get("interestRate").toString()));
+        }
+        if (changes.get("status") != null) {
+            account.setStatus(Account.AccountStatus.valueOf(changes.get("status").toString()));
+        }
         
-        return accountRepository.save(account);
+        Account savedAccount = accountRepository.save(account);
+        if (!savedAccount.getAccountNumber().equals(previousNumber)) {
+            autocompleteService.removeAccount(id, previousNumber);
+            autocompleteService.indexAccount(id, savedAccount.getAccountNumber());
+        }
+        return savedAccount;
     }
     
     public void deleteAccount(Long id) {
-        if (!accountRepository.existsById(id)) {
-            throw new RuntimeException("Account not found with id: " + id);
-        }
-        accountRepository.deleteById(id);
+        Account account = accountRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Account not found with id: " + id));
+        accountRepository.delete(account);
+        autocompleteService.removeAccount(account.getAccountId(), account.getAccountNumber());
     }
     
+    @Transactional(readOnly = true)
     public long getTotalAccounts() {
         return accountRepository.count();
     }
     
+    @Transactional(readOnly = true)
     public long getActiveAccounts() {
         return accountRepository.countByStatus(Account.AccountStatus.ACTIVE);
     }
     
+    @Transactional(readOnly = true)
     public double getTotalBalance() {
         java.math.BigDecimal totalBalance = accountRepository.getTotalBalance();
-        return totalBalance != null ? totalBalance.doubleValue() : 0.0;
+        if (totalBalance == null) {
+            totalBalance = BigDecimal.ZERO;
+        }
+        return totalBalance.add(shardedBalanceService.getUnfoldedActiveBalance()).doubleValue();
     }
     
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getAllAccountsAsMap() {
-        return accountRepository.findAllAccountsAsMap();
+        return shardedBalanceService.withEffectiveBalances(accountRepository.findAllAccountsAsMap());
+    }
+    
+    /**
+     * Not read-only, so it runs on the primary and sees an account created or changed just before
+     */
+    public Optional<Map<String, Object>> getAccountAsMap(Long id) {
+        // Empty list rather than Optional: Spring Data turns a missing tuple into a map of nulls
+        return accountRepository.findAccountAsMapById(id).stream().findFirst()
+                .map(account -> shardedBalanceService.withEffectiveBalance(id, account));
+    }
+    
+    public void enableShardedBalance(Long id, int slots) {
+        if (!accountRepository.existsById(id)) {
+            throw new RuntimeException("Account not found with id: " + id);
+        }
+        shardedBalanceService.enable(id, slots);
+    }
+    
+    public void disableShardedBalance(Long id) {
+        if (!accountRepository.existsById(id)) {
+            throw new RuntimeException("Account not found with id: " + id);
+        }
+        shardedBalanceService.disable(id);
+    }
+    
+    /**
+     * Open many accounts at once. Customers are validated with one set query,
+     * missing account numbers are allocated in bulk and rows are inserted with
+     * JDBC batching, one DB transaction per chunk. A failing chunk is rolled back
+     * and reported as failed without affecting the other chunks. Returns one outcome per input row, in input order.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<Map<String, Object>> createAccountsBulk(List<Account> accounts) {
+        if (accounts.size() > bulkMaxSize) {
+            throw new RuntimeException("Bulk request exceeds the maximum of " + bulkMaxSize + " accounts");
+        }
+        
+        List<Map<String, Object>> results = new ArrayList<>(accounts.size());
+        Set<String> requestedNumbers = new HashSet<>();
+        Set<Long> customerIds = new HashSet<>();
+        
+        // Validate each row on its own first
+        for (int i = 0; i < accounts.size(); i++) {
+            Account account = accounts.get(i);
+            String error = validateBulkRow(account, requestedNumbers);
+            results.add(error == null ? null : bulkResult(i, account, false, error));
+            if (error == null) {
+                customerIds.add(account.getCustomerId());
+            }
+        }
+        
+        // Validate referenced customers and requested account numbers with one query each
+        Set<Long> existingCustomers = accountJdbcRepository.findExistingCustomerIds(customerIds);
+        Set<String> takenNumbers = accountJdbcRepository.findExistingAccountNumbers(requestedNumbers);
+        
+        List<Integer> pending = new ArrayList<>();
+        int toGenerate = 0;
+        for (int i = 0; i < accounts.size(); i++) {
+            if (results.get(i) != null) {
+                continue;
+            }
+            Account account = accounts.get(i);
+            if (!existingCustomers.contains(account.getCustomerId())) {
+                results.set(i, bulkResult(i, account, false, "Customer not found with id: " + account.getCustomerId()));
+            } else if (account.getAccountNumber() != null && takenNumbers.contains(account.getAccountNumber())) {
+                results.set(i, bulkResult(i, account, false, "Account number already exists: " + account.getAccountNumber()));
+            } else {
+                if (account.getAccountNumber() == null) {
+                    toGenerate++;
+                }
+                pending.add(i);
+            }
+        }
+        
+        List<String> generatedNumbers = allocateAccountNumbers(toGenerate, requestedNumbers);
+        int nextGenerated = 0;
+        for (int index : pending) {
+            Account account = accounts.get(index);
+            if (account.getAccountNumber() == null) {
+                account.setAccountNumber(generatedNumbers.get(nextGenerated++));
+            }
+            if (account.getStatus() == null) {
+                account.setStatus(Account.AccountStatus.ACTIVE);
+            }
+            if (account.getBalance() == null) {
+                account.setBalance(BigDecimal.ZERO);
+            }
+            if (account.getInterestRate() == null) {
+                account.setInterestRate(BigDecimal.ZERO);
+            }
+        }
+        
+        // Insert in chunks, each chunk in its own transaction
+        int created = 0;
+        for (int start = 0; start < pending.size(); start += bulkChunkSize) {
+            List<Integer> chunk = pending.subList(start, Math.min(start + bulkChunkSize, pending.size()));
+            List<Account> rows = new ArrayList<>(chunk.size());
+            for (int index : chunk) {
+                rows.add(accounts.get(index));
+            }
+            try {
+                Map<String, Long> ids = transactionTemplate.execute(status -> {
+                    accountJdbcRepository.batchInsert(rows);
+                    Map<String, Long> inserted = accountJdbcRepository.findAccountIdsByNumbers(
+                            rows.stream().map(Account::getAccountNumber).toList());
+                    inserted.forEach((accountNumber, accountId) -> autocompleteService.indexAccount(accountId, accountNumber));
+                    return inserted;
+                });
+                for (int index : chunk) {
+                    Account account = accounts.get(index);
+                    account.setAccountId(ids.get(account.getAccountNumber()));
+                    results.set(index, bulkResult(index, account, true, "Account created successfully"));
+                    created++;
+                }
+            } catch (Exception e) {
+                log.error("Bulk account chunk failed: {}", e.getMessage());
+                for (int index : chunk) {
+                    results.set(index, bulkResult(index, accounts.get(index), false, "Failed to create account: " + e.getMessage()));
+                }
+            }
+        }
+        
+        log.info("Bulk account creation: {} of {} accounts created", created, accounts.size());
+        return results;
+    }
+    
+    private String validateBulkRow(Account account, Set<String> requestedNumbers) {
+        if (account == null) {
+            return "Account data is required";
+        }
+        if (account.getAccountType() == null) {
+            return "Account type is required";
+        }
+        if (account.getCustomerId() == null) {
+            return "Customer ID is required";
+        }
+        if (account.getBalance() != null && account.getBalance().signum() < 0) {
+            return "Balance cannot be negative";
+        }
+        if (account.getInterestRate() != null && account.getInterestRate().signum() < 0) {
+            return "Interest rate cannot be negative";
+        }
+        String accountNumber = account.getAccountNumber();
+        if (accountNumber != null && accountNumber.trim().isEmpty()) {
+            account.setAccountNumber(null);
+        } else if (accountNumber != null) {
+            if (!ACCOUNT_NUMBER_PATTERN.matcher(accountNumber).matches()) {
+                return "Account number must be 8-12 digits";
+            }
+            if (!requestedNumbers.add(accountNumber)) {
+                return "Duplicate account number in request: " + accountNumber;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Allocate unused 10-digit account numbers. Candidates are drawn at random and
+     * checked against the table in one query per round; collisions are redrawn.
+     */
+    private List<String> allocateAccountNumbers(int count, Set<String> reserved) {
+        List<String> allocated = new ArrayList<>(count);
+        Set<String> used = new HashSet<>(reserved);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (allocated.size() < count) {
+            Set<String> candidates = new HashSet<>();
+            while (candidates.size() < count - allocated.size()) {
+                String candidate = Long.toString(random.nextLong(GENERATED_ACCOUNT_NUMBER_MIN, GENERATED_ACCOUNT_NUMBER_MAX));
+                if (!used.contains(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+            candidates.removeAll(accountJdbcRepository.findExistingAccountNumbers(candidates));
+            used.addAll(candidates);
+            allocated.addAll(candidates);
+        }
+        return allocated;
+    }
+    
+    private Map<String, Object> bulkResult(int index, Account account, boolean success, String message) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("success", success);
+        result.put("accountId", account != null ? account.getAccountId() : null);
+        result.put("customerId", account != null ? account.getCustomerId() : null);
+        result.put("accountNumber", account != null ? account.getAccountNumber() : null);
+        result.put("message", message);
+        return result;
     }
 }
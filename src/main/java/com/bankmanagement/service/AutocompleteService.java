@@ -0,0 +1,390 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.repository.AccountRepository;
+import com.bankmanagement.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * In-process prefix autocomplete over customer names, emails, phones and account numbers.
+ *
+ * Entries are strings of the form {@code normalizedValue \0 field id} held in one sorted
+ * array, so a lookup is a binary search plus a short forward scan. Writes go to a small
+ * sorted delta set and a tombstone set, which are merged into a new array on a schedule.
+ * Nothing here touches the database after the initial build, except an explicit
+ * {@link #rebuild} after bulk changes that bypass the index (sample data, reset).
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteService.class);
+
+    private static final char SEPARATOR = '\u0000';
+    private static final char FIELD_NAME = 'n';
+    private static final char FIELD_EMAIL = 'e';
+    private static final char FIELD_PHONE = 'p';
+    private static final char FIELD_ACCOUNT = 'a';
+
+    // Bounds the forward scan when many entries of the same entity share a prefix
+    private static final int SCAN_FACTOR = 8;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${autocomplete.enabled:true}")
+    private boolean enabled;
+
+    private volatile String[] entries = new String[0];
+    private final NavigableSet<String> delta = new ConcurrentSkipListSet<>();
+    private final Set<String> removed = ConcurrentHashMap.newKeySet();
+    private final Map<Long, String> customerLabels = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+    private volatile long buildMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::build, "autocomplete-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Rebuild the index from the database in the background, dropping the pending delta and
+     * tombstones; writes that commit while it runs are indexed into the new delta as usual
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            delta.clear();
+            removed.clear();
+        }
+        customerLabels.clear();
+        Thread builder = new Thread(this::build, "autocomplete-index-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void build() {
+        long start = System.currentTimeMillis();
+        try {
+            List<String> built = new ArrayList<>();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = customerRepository.streamSearchFields()) {
+                    rows.forEach(row -> {
+                        Long id = (Long) row[0];
+                        customerEntries(id, (String) row[1], (String) row[2], (String) row[3], (String) row[4], built);
+                        customerLabels.put(id, row[1] + " " + row[2]);
+                    });
+                }
+                try (Stream<Object[]> rows = accountRepository.streamAccountNumbers()) {
+                    rows.forEach(row -> accountEntries((Long) row[0], (String) row[1], built));
+                }
+            });
+            synchronized (this) {
+                String[] sorted = built.toArray(new String[0]);
+                Arrays.sort(sorted);
+                entries = sorted;
+                // Writes that raced with the build are already in the delta and merge later
+                ready = true;
+            }
+            buildMillis = System.currentTimeMillis() - start;
+            log.info("Autocomplete index built: {} entries in {} ms", entries.length, buildMillis);
+        } catch (Exception e) {
+            log.error("Failed to build autocomplete index: {}", e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Top-K entities whose indexed values start with the given prefix
+     */
+    public List<Map<String, Object>> lookup(String prefix, int limit) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        String key = normalizePrefix(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return results;
+        }
+
+        String[] base = entries;
+        int i = lowerBound(base, key);
+        Iterator<String> deltaIterator = delta.tailSet(key, true).iterator();
+        String nextDelta = deltaIterator.hasNext() ? deltaIterator.next() : null;
+
+        Set<String> seen = new HashSet<>();
+        int scanned = 0;
+        int maxScan = limit * SCAN_FACTOR;
+        while (results.size() < limit && scanned++ < maxScan) {
+            String candidate;
+            boolean fromBase = i < base.length && base[i].startsWith(key)
+                    && (nextDelta == null || !nextDelta.startsWith(key) || base[i].compareTo(nextDelta) <= 0);
+            if (fromBase) {
+                candidate = base[i++];
+            } else if (nextDelta != null && nextDelta.startsWith(key)) {
+                candidate = nextDelta;
+                nextDelta = deltaIterator.hasNext() ? deltaIterator.next() : null;
+            } else {
+                break;
+            }
+            if (removed.contains(candidate)) {
+                continue;
+            }
+            int separator = candidate.lastIndexOf(SEPARATOR);
+            char field = candidate.charAt(separator + 1);
+            long id = Long.parseLong(candidate.substring(separator + 2), Character.MAX_RADIX);
+            String entity = (field == FIELD_ACCOUNT ? "A" : "C") + id;
+            if (!seen.add(entity)) {
+                continue;
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("type", field == FIELD_ACCOUNT ? "ACCOUNT" : "CUSTOMER");
+            result.put("id", id);
+            result.put("matchedField", fieldName(field));
+            result.put("label", field == FIELD_ACCOUNT ? candidate.substring(0, separator) : customerLabels.get(id));
+            results.add(result);
+        }
+        return results;
+    }
+
+    public void indexCustomer(Long customerId, String firstName, String lastName, String email, String phone) {
+        afterCommit(() -> {
+            List<String> added = new ArrayList<>();
+            customerEntries(customerId, firstName, lastName, email, phone, added);
+            add(added);
+            customerLabels.put(customerId, firstName + " " + lastName);
+        });
+    }
+
+    public void removeCustomer(Long customerId, String firstName, String lastName, String email, String phone) {
+        afterCommit(() -> {
+            List<String> stale = new ArrayList<>();
+            customerEntries(customerId, firstName, lastName, email, phone, stale);
+            remove(stale);
+            customerLabels.remove(customerId);
+        });
+    }
+
+    public void indexAccount(Long accountId, String accountNumber) {
+        afterCommit(() -> {
+            List<String> added = new ArrayList<>();
+            accountEntries(accountId, accountNumber, added);
+            add(added);
+        });
+    }
+
+    public void removeAccount(Long accountId, String accountNumber) {
+        afterCommit(() -> {
+            List<String> stale = new ArrayList<>();
+            accountEntries(accountId, accountNumber, stale);
+            remove(stale);
+        });
+    }
+
+    /**
+     * Fold the delta and tombstones into a new sorted array
+     */
+    @Scheduled(fixedDelayString = "${autocomplete.merge-interval-ms:60000}")
+    public synchronized void merge() {
+        if (!ready || (delta.isEmpty() && removed.isEmpty())) {
+            return;
+        }
+        String[] base = entries;
+        List<String> additions = new ArrayList<>(delta);
+        Set<String> tombstones = new HashSet<>(removed);
+        String[] merged = new String[base.length + additions.size()];
+        int b = 0, d = 0, m = 0;
+        while (b < base.length || d < additions.size()) {
+            String next;
+            if (d >= additions.size() || (b < base.length && base[b].compareTo(additions.get(d)) <= 0)) {
+                next = base[b++];
+            } else {
+                next = additions.get(d++);
+            }
+            if (!tombstones.contains(next) && (m == 0 || !merged[m - 1].equals(next))) {
+                merged[m++] = next;
+            }
+        }
+        entries = Arrays.copyOf(merged, m);
+        delta.removeAll(additions);
+        removed.removeAll(tombstones);
+    }
+
+    public long getEntryCount() {
+        return entries.length + delta.size();
+    }
+
+    /**
+     * Entry counts and an estimate of heap used per indexed entry
+     */
+    public Map<String, Object> getStats() {
+        String[] base = entries;
+        long bytes = (long) base.length * 4 + 16;
+        for (String entry : base) {
+            bytes += stringBytes(entry);
+        }
+        for (String entry : delta) {
+            // Skip list node, index levels and the string itself
+            bytes += 48 + stringBytes(entry);
+        }
+        for (Map.Entry<Long, String> label : customerLabels.entrySet()) {
+            // Hash map node, boxed key and the label string
+            bytes += 32 + 16 + stringBytes(label.getValue());
+        }
+        long entryCount = base.length + delta.size();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("entries", entryCount);
+        stats.put("pendingAdditions", delta.size());
+        stats.put("pendingRemovals", removed.size());
+        stats.put("estimatedBytes", bytes);
+        stats.put("bytesPerEntry", entryCount == 0 ? 0 : bytes / entryCount);
+        stats.put("buildMillis", buildMillis);
+        return stats;
+    }
+
+    private synchronized void add(List<String> added) {
+        removed.removeAll(added);
+        delta.addAll(added);
+    }
+
+    private synchronized void remove(List<String> stale) {
+        delta.removeAll(stale);
+        removed.addAll(stale);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void customerEntries(Long id, String firstName, String lastName, String email, String phone, List<String> out) {
+        String first = normalizeText(firstName);
+        String last = normalizeText(lastName);
+        addEntry(out, normalizeText(first + " " + last), FIELD_NAME, id);
+        addEntry(out, normalizeText(last + " " + first), FIELD_NAME, id);
+        addEntry(out, normalizeText(email), FIELD_EMAIL, id);
+        addEntry(out, digitsOnly(phone), FIELD_PHONE, id);
+    }
+
+    private void accountEntries(Long id, String accountNumber, List<String> out) {
+        addEntry(out, digitsOnly(accountNumber), FIELD_ACCOUNT, id);
+    }
+
+    private void addEntry(List<String> out, String key, char field, Long id) {
+        if (key != null && !key.isEmpty() && id != null) {
+            out.add(key + SEPARATOR + field + Long.toString(id, Character.MAX_RADIX));
+        }
+    }
+
+    private String normalizePrefix(String prefix) {
+        if (prefix == null) {
+            return "";
+        }
+        String trimmed = prefix.trim();
+        // Phone numbers and account numbers are indexed as digits only
+        if (!trimmed.isEmpty() && trimmed.matches("[0-9+()\\-. ]+")) {
+            return digitsOnly(trimmed);
+        }
+        return normalizeText(trimmed);
+    }
+
+    private static String normalizeText(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String digitsOnly(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static long stringBytes(String value) {
+        // String header plus a byte[] with compact Latin-1 storage, 8-byte aligned
+        return 24 + ((16 + value.length() + 7) & ~7L);
+    }
+
+    private static String fieldName(char field) {
+        switch (field) {
+            case FIELD_NAME:
+                return "name";
+            case FIELD_EMAIL:
+                return "email";
+            case FIELD_PHONE:
+                return "phone";
+            default:
+                return "accountNumber";
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.repository.CustomerRepository;
+import com.bankmanagement.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Optional Bloom filter over the emails and phones of existing customers.
+ *
+ * A miss proves the value is not taken, so registration goes straight to the INSERT
+ * and lets the unique constraints decide. A hit only means "maybe taken"; the caller
+ * confirms it with an indexed lookup instead of sending an INSERT that would most
+ * likely fail. Deleted customers stay in the filter and only cost that lookup.
+ * While the filter is disabled or still building every check is a miss.
+ */
+@Service
+public class CustomerDuplicateFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerDuplicateFilter.class);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${customers.bloom-filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${customers.bloom-filter.expected-insertions:1000000}")
+    private long expectedInsertions;
+
+    @Value("${customers.bloom-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::build, "customer-bloom-filter-builder");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    /**
+     * Rebuild the filter from the database in the background, after bulk changes that
+     * bypassed it. Customers added while it runs may be missed; the constraints still catch them.
+     */
+    public void rebuild() {
+        buildOnStartup();
+    }
+
+    private void build() {
+        try {
+            long customers = customerRepository.count();
+            // Two values per customer, with headroom for growth
+            BloomFilter built = new BloomFilter(Math.max(expectedInsertions, customers * 4), falsePositiveRate);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = customerRepository.streamSearchFields()) {
+                    rows.forEach(row -> {
+                        built.put(emailKey((String) row[3]));
+                        built.put(phoneKey((String) row[4]));
+                    });
+                }
+            });
+            filter = built;
+            log.info("Customer duplicate filter built for {} customers", customers);
+        } catch (Exception e) {
+            log.error("Failed to build customer duplicate filter: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * True when the filter is built and reports the email as possibly registered
+     */
+    public boolean mightHaveEmail(String email) {
+        BloomFilter current = filter;
+        return current != null && email != null && current.mightContain(emailKey(email));
+    }
+
+    /**
+     * True when the filter is built and reports the phone as possibly registered
+     */
+    public boolean mightHavePhone(String phone) {
+        BloomFilter current = filter;
+        return current != null && phone != null && current.mightContain(phoneKey(phone));
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    public void add(String email, String phone) {
+        BloomFilter current = filter;
+        if (current != null) {
+            if (email != null) {
+                current.put(emailKey(email));
+            }
+            if (phone != null) {
+                current.put(phoneKey(phone));
+            }
+        }
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email;
+    }
+
+    private static String phoneKey(String phone) {
+        return "p:" + phone;
+    }
+}
@@ -0,0 +1,125 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.dto.CustomerDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of login lookups, keyed by email and by phone.
+ * Unknown identifiers are cached too, with a shorter TTL, so repeated failed
+ * logins do not reach the database either.
+ */
+@Service
+public class CustomerLoginCache {
+
+    @Value("${customers.login-cache.max-size:100000}")
+    private long maxSize;
+
+    @Value("${customers.login-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${customers.login-cache.negative-ttl-seconds:10}")
+    private long negativeTtlSeconds;
+
+    private Cache<String, Optional<CustomerDTO>> cache;
+
+    @PostConstruct
+    public void init() {
+        long ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        long negativeTtlNanos = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<CustomerDTO>>() {
+                    @Override
+                    public long expireAfterCreate(String key, Optional<CustomerDTO> value, long currentTime) {
+                        return value.isPresent() ? ttlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Optional<CustomerDTO> value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Optional<CustomerDTO> value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public Optional<CustomerDTO> getByEmail(String email, Function<String, Optional<CustomerDTO>> loader) {
+        String normalized = normalize(email);
+        return cache.get(emailKey(normalized), key -> loader.apply(normalized));
+    }
+
+    public Optional<CustomerDTO> getByPhone(String phone, Function<String, Optional<CustomerDTO>> loader) {
+        String normalized = normalize(phone);
+        return cache.get(phoneKey(normalized), key -> loader.apply(normalized));
+    }
+
+    /**
+     * Drop entries for the given identifiers now and again after the surrounding
+     * transaction commits, so a concurrent login cannot re-cache the old row.
+     */
+    public void invalidate(String email, String phone) {
+        Runnable evict = () -> {
+            if (email != null) {
+                cache.invalidate(emailKey(normalize(email)));
+            }
+            if (phone != null) {
+                cache.invalidate(phoneKey(normalize(phone)));
+            }
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    public Cache<String, Optional<CustomerDTO>> getNativeCache() {
+        return cache;
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+
+    public static String normalize(String identifier) {
+        return identifier == null ? null : identifier.trim();
+    }
+
+    private static String emailKey(String email) {
+        return "e:" + email;
+    }
+
+    private static String phoneKey(String phone) {
+        return "p:" + phone;
+    }
+}
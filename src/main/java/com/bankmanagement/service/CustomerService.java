@@ -1,37 +1,80 @@
 package com.bankmanagement.service;
 
 import com.bankmanagement.dto.CustomerDTO;
+import com.bankmanagement.exception.DuplicateResourceException;
+import com.bankmanagement.model.Account;
 import com.bankmanagement.model.Customer;
+import com.bankmanagement.repository.AccountRepository;
+import com.bankmanagement.repository.CustomerJdbcRepository;
 import com.bankmanagement.repository.CustomerRepository;
+import com.bankmanagement.repository.TransactionJdbcRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class CustomerService {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerService.class);
     
     @Autowired
     private CustomerRepository customerRepository;
     
+    @Autowired
+    private CustomerJdbcRepository customerJdbcRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TransactionJdbcRepository transactionJdbcRepository;
+    
+    @Autowired
+    private ShardedBalanceService shardedBalanceService;
+    
+    @Autowired
+    private AutocompleteService autocompleteService;
+    
+    @Autowired
+    private CustomerDuplicateFilter customerDuplicateFilter;
+    
+    @Autowired
+    private CustomerLoginCache customerLoginCache;
+    
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getAllCustomers() {
         return customerRepository.findAll().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
     public List<CustomerDTO> getActiveCustomers() {
         return customerRepository.findByIsActiveTrue().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
+    // Lookups by id, email and phone stay on the primary: registration and login read them right after a write
     public Optional<CustomerDTO> getCustomerById(Long customerId) {
         return customerRepository.findById(customerId)
                 .map(this::convertToDTO);
@@ -47,27 +90,130 @@ public class CustomerService {
                 .map(this::convertToDTO);
     }
     
+    /**
+     * Customer with their accounts and the newest transactions of each account.
+     * recentTransactions is a per-account limit: each account lists up to that many of
+     * its own transactions, so the response holds up to accounts x recentTransactions.
+     * Uses a fixed number of queries regardless of how many accounts the customer has:
+     * accounts JOIN FETCH customer, one windowed query for the transactions, and a
+     * customer lookup only when the customer has no accounts, plus one slot sum when any of
+     * the accounts is sharded.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Map<String, Object>> getCustomerOverview(Long customerId, int recentTransactions) {
+        List<Account> accounts = accountRepository.findByCustomerIdWithCustomer(customerId);
+        
+        Customer customer;
+        if (!accounts.isEmpty()) {
+            customer = accounts.get(0).getCustomer();
+        } else {
+            customer = customerRepository.findById(customerId).orElse(null);
+            if (customer == null) {
+                return Optional.empty();
+            }
+        }
+        
+        Map<Long, List<Map<String, Object>>> transactionsByAccount = new HashMap<>();
+        List<Long> accountIds = accounts.stream().map(Account::getAccountId).collect(Collectors.toList());
+        for (Map<String, Object> transaction : transactionJdbcRepository.findRecentByAccountIds(accountIds, recentTransactions)) {
+            transactionsByAccount.computeIfAbsent((Long) transaction.get("accountId"), id -> new ArrayList<>()).add(transaction);
+        }
+        
+        Map<Long, BigDecimal> unfolded = shardedBalanceService.getUnfoldedBalances(accountIds);
+        BigDecimal totalBalance = BigDecimal.ZERO;
+        List<Map<String, Object>> accountViews = new ArrayList<>(accounts.size());
+        for (Account account : accounts) {
+            BigDecimal balance = account.getBalance().add(unfolded.getOrDefault(account.getAccountId(), BigDecimal.ZERO));
+            Map<String, Object> view = new LinkedHashMap<>();
+            view.put("accountId", account.getAccountId());
+            view.put("accountNumber", account.getAccountNumber());
+            view.put("accountType", account.getAccountType());
+            view.put("balance", balance);
+            view.put("interestRate", account.getInterestRate());
+            view.put("status", account.getStatus());
+            view.put("createdAt", account.getCreatedAt());
+            view.put("recentTransactions", transactionsByAccount.getOrDefault(account.getAccountId(), List.of()));
+            accountViews.add(view);
+            if (account.getStatus() == Account.AccountStatus.ACTIVE) {
+                totalBalance = totalBalance.add(balance);
+            }
+        }
+        
+        Map<String, Object> overview = new LinkedHashMap<>();
+        overview.put("customer", convertToDTO(customer));
+        overview.put("accounts", accountViews);
+        overview.put("totalBalance", totalBalance);
+        overview.put("recentTransactionsPerAccount", recentTransactions);
+        return Optional.of(overview);
+    }
+    
+    /**
+     * Login lookup by email served from the login cache. Runs without a transaction
+     * so cache hits never borrow a connection from the pool.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<CustomerDTO> getCustomerByEmailForLogin(String email) {
+        return customerLoginCache.getByEmail(email, this::getCustomerByEmail);
+    }
+    
+    /**
+     * Login lookup by phone served from the login cache
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<CustomerDTO> getCustomerByPhoneForLogin(String phone) {
+        return customerLoginCache.getByPhone(phone, this::getCustomerByPhone);
+    }
+    
+    @Transactional(readOnly = true)
     public List<CustomerDTO> searchCustomersByName(String name) {
         return customerRepository.findByNameContaining(name).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
     
-    public CustomerDTO createCustomer(CustomerDTO customerDTO) {
-        // Check if email or phone already exists
-        if (customerRepository.existsByEmail(customerDTO.getEmail())) {
-            throw new RuntimeException("Customer with email " + customerDTO.getEmail() + " already exists");
+    /**
+     * Paginated name search ranked by trigram similarity. Falls back to the
+     * substring search when the pg_trgm extension is not installed or the ranked
+     * query fails; only a missing extension turns the ranked search off.
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerDTO> searchCustomersByNameRanked(String name, int page, int size) {
+        List<Customer> customers = null;
+        if (customerJdbcRepository.isTrigramAvailable()) {
+            try {
+                customers = customerJdbcRepository.searchByNameTrigram(name, size, Math.multiplyExact((long) page, size));
+            } catch (DataAccessException e) {
+                log.warn("Trigram search failed, falling back to substring search: {}", e.getMessage());
+                if (customerJdbcRepository.isMissingTrigramSupport(e)) {
+                    customerJdbcRepository.markTrigramUnavailable();
+                }
+            }
         }
-        
-        if (customerRepository.existsByPhone(customerDTO.getPhone())) {
-            throw new RuntimeException("Customer with phone " + customerDTO.getPhone() + " already exists");
+        if (customers == null) {
+            customers = customerRepository.findByNameContaining(name, PageRequest.of(page, size));
         }
+        return customers.stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Register a customer in a single INSERT. Uniqueness of email and phone is
+     * enforced by the database constraints; a violation becomes a DuplicateResourceException.
+     */
+    public CustomerDTO createCustomer(CustomerDTO customerDTO) {
+        // Only values the duplicate filter flags are checked up front
+        checkProbableDuplicates(customerDTO.getEmail(), customerDTO.getPhone());
         
         Customer customer = convertToEntity(customerDTO);
         customer.setIsActive(true);
         customer.setCreatedAt(LocalDateTime.now());
         
-        Customer savedCustomer = customerRepository.save(customer);
+        Customer savedCustomer = saveUnique(customer);
+        customerDuplicateFilter.add(savedCustomer.getEmail(), savedCustomer.getPhone());
+        // Drop any negative entries for the new identifiers
+        customerLoginCache.invalidate(savedCustomer.getEmail(), savedCustomer.getPhone());
+        indexForAutocomplete(savedCustomer);
         return convertToDTO(savedCustomer);
     }
     
@@ -75,17 +221,14 @@ public class CustomerService {
         Customer existingCustomer = customerRepository.findById(customerId)
                 .orElseThrow(() -> new RuntimeException("Customer not found with id: " + customerId));
         
-        // Check if email is being changed and if it already exists
-        if (!existingCustomer.getEmail().equals(customerDTO.getEmail()) && 
-            customerRepository.existsByEmail(customerDTO.getEmail())) {
-            throw new RuntimeException("Customer with email " + customerDTO.getEmail() + " already exists");
-        }
+        // Only changed values the duplicate filter flags are checked up front
+        checkProbableDuplicates(
+                existingCustomer.getEmail().equals(customerDTO.getEmail()) ? null : customerDTO.getEmail(),
+                existingCustomer.getPhone().equals(customerDTO.getPhone()) ? null : customerDTO.getPhone());
         
-        // Check if phone is being changed and if it already exists
-        if (!existingCustomer.getPhone().equals(customerDTO.getPhone()) && 
-            customerRepository.existsByPhone(customerDTO.getPhone())) {
-            throw new RuntimeException("Customer with phone " + customerDTO.getPhone() + " already exists");
-        }
+        autocompleteService.removeCustomer(existingCustomer.getCustomerId(), existingCustomer.getFirstName(),
+                existingCustomer.getLastName(), existingCustomer.getEmail(), existingCustomer.getPhone());
+        customerLoginCache.invalidate(existingCustomer.getEmail(), existingCustomer.getPhone());
         
         // Update fields
         existingCustomer.setFirstName(customerDTO.getFirstName());
@@ -95,7 +238,10 @@ public class CustomerService {
         existingCustomer.setEmail(customerDTO.getEmail());
         existingCustomer.setDateOfBirth(customerDTO.getDateOfBirth());
         
-        Customer updatedCustomer = customerRepository.save(existingCustomer);
+        Customer updatedCustomer = saveUnique(existingCustomer);
+        customerDuplicateFilter.add(updatedCustomer.getEmail(), updatedCustomer.getPhone());
+        customerLoginCache.invalidate(updatedCustomer.getEmail(), updatedCustomer.getPhone());
+        indexForAutocomplete(updatedCustomer);
         return convertToDTO(updatedCustomer);
     }
     
@@ -105,6 +251,7 @@ public class CustomerService {
         
         customer.setIsActive(false);
         customerRepository.save(customer);
+        customerLoginCache.invalidate(customer.getEmail(), customer.getPhone());
     }
     
     public void activateCustomer(Long customerId) {
@@ -113,24 +260,70 @@ public class CustomerService {
         
         customer.setIsActive(true);
         customerRepository.save(customer);
+        customerLoginCache.invalidate(customer.getEmail(), customer.getPhone());
     }
     
     public void deleteCustomer(Long customerId) {
-        if (!customerRepository.existsById(customerId)) {
-            throw new RuntimeException("Customer not found with id: " + customerId);
-        }
-        customerRepository.deleteById(customerId);
+        Customer customer = customerRepository.findById(customerId)
+                .orElseThrow(() -> new RuntimeException("Customer not found with id: " + customerId));
+        customerRepository.delete(customer);
+        customerLoginCache.invalidate(customer.getEmail(), customer.getPhone());
+        autocompleteService.removeCustomer(customer.getCustomerId(), customer.getFirstName(),
+                customer.getLastName(), customer.getEmail(), customer.getPhone());
     }
     
+    @Transactional(readOnly = true)
     public long getTotalCustomers() {
         return customerRepository.count();
     }
     
+    @Transactional(readOnly = true)
     public long getActiveCustomersCount() {
         return customerRepository.countByIsActiveTrue();
     }
     
-    private CustomerDTO convertToDTO(Customer customer) {
+    private void checkProbableDuplicates(String email, String phone) {
+        if (customerDuplicateFilter.mightHaveEmail(email) && customerRepository.existsByEmail(email)) {
+            throw duplicateEmail(email);
+        }
+        if (customerDuplicateFilter.mightHavePhone(phone) && customerRepository.existsByPhone(phone)) {
+            throw duplicatePhone(phone);
+        }
+    }
+    
+    private Customer saveUnique(Customer customer) {
+        try {
+            return customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException e) {
+            String constraint = e.getCause() instanceof ConstraintViolationException
+                    ? ((ConstraintViolationException) e.getCause()).getConstraintName()
+                    : null;
+            String detail = (constraint != null ? constraint : String.valueOf(e.getMostSpecificCause().getMessage()))
+                    .toLowerCase();
+            if (detail.contains("email")) {
+                throw duplicateEmail(customer.getEmail());
+            }
+            if (detail.contains("phone")) {
+                throw duplicatePhone(customer.getPhone());
+            }
+            throw e;
+        }
+    }
+    
+    private DuplicateResourceException duplicateEmail(String email) {
+        return new DuplicateResourceException("email", "Customer with email " + email + " already exists");
+    }
+    
+    private DuplicateResourceException duplicatePhone(String phone) {
+        return new DuplicateResourceException("phone", "Customer with phone " + phone + " already exists");
+    }
+    
+    private void indexForAutocomplete(Customer customer) {
+        autocompleteService.indexCustomer(customer.getCustomerId(), customer.getFirstName(),
+                customer.getLastName(), customer.getEmail(), customer.getPhone());
+    }
+    
+    CustomerDTO convertToDTO(Customer customer) {
         return new CustomerDTO(
                 customer.getCustomerId(),
                 customer.getFirstName(),
@@ -145,7 +338,7 @@ public class CustomerService {
     }
     
 
-    private Customer convertToEntity(CustomerDTO customerDTO) {
+    Customer convertToEntity(CustomerDTO customerDTO) {
         Customer customer = new Customer();
         customer.setCustomerId(customerDTO.getCustomerId());
         customer.setFirstName(customerDTO.getFirstName());
@@ -0,0 +1,110 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.repository.DashboardJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dashboard stats served stale-while-revalidate.
+ *
+ * Callers always get the last computed snapshot without waiting. Once it is older
+ * than the TTL, the first caller to notice starts one background refresh and every
+ * other caller keeps reading the old snapshot until it lands. Only the very first
+ * request, before any snapshot exists, waits for the query.
+ */
+@Service
+public class DashboardStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    @Autowired
+    private DashboardJdbcRepository dashboardJdbcRepository;
+
+    @Value("${dashboard.stats.ttl-ms:5000}")
+    private long ttlMillis;
+
+    private record Snapshot(Map<String, Object> stats, long loadedAtMillis) {
+    }
+
+    private volatile Snapshot snapshot;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    // A lock rather than synchronized, so virtual threads waiting on the query do not pin their carrier
+    private final ReentrantLock initialLoadLock = new ReentrantLock();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard-stats-refresher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = loadInitial();
+        } else if (System.currentTimeMillis() - current.loadedAtMillis() > ttlMillis
+                && refreshing.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                try {
+                    snapshot = load();
+                } catch (Exception e) {
+                    // Keep serving the previous snapshot and retry on the next stale read
+                    log.error("Dashboard stats refresh failed: {}", e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        return withTimestamp(current);
+    }
+
+    /**
+     * Recompute now, bypassing the TTL, and publish the result to polling callers too
+     */
+    public Map<String, Object> refreshNow() {
+        Snapshot current = load();
+        snapshot = current;
+        return withTimestamp(current);
+    }
+
+    private static Map<String, Object> withTimestamp(Snapshot current) {
+        Map<String, Object> stats = new LinkedHashMap<>(current.stats());
+        stats.put("asOf", current.loadedAtMillis());
+        return stats;
+    }
+
+    private Snapshot loadInitial() {
+        // Concurrent first requests share one query
+        initialLoadLock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = load();
+            }
+            return snapshot;
+        } finally {
+            initialLoadLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+        return new Snapshot(Collections.unmodifiableMap(dashboardJdbcRepository.loadStats(startOfMonth)),
+                System.currentTimeMillis());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
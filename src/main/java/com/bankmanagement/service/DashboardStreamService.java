@@ -0,0 +1,265 @@
+package com.bankmanagement.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live dashboard feed over Server-Sent Events.
+ *
+ * One scheduled producer computes the stats once per tick, whatever the number of
+ * viewers, and pushes only the fields that changed. Each subscriber buffers at most
+ * one pending update: a new delta is merged into the one not yet sent, so a slow
+ * client skips intermediate values instead of queueing them. Sends block, so each
+ * subscriber drains on its own sender thread, from a pool sized to max-subscribers:
+ * a client that stops reading only holds up itself. A send still in progress after
+ * send-timeout-ms drops that subscriber. Idle connections get a heartbeat comment so
+ * proxies keep them open.
+ */
+@Service
+public class DashboardStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStreamService.class);
+
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+
+    @Value("${dashboard.stream.max-subscribers:200}")
+    private int maxSubscribers;
+
+    @Value("${dashboard.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${dashboard.stream.send-timeout-ms:10000}")
+    private long sendTimeoutMillis;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger senderIds = new AtomicInteger();
+    private ThreadPoolExecutor senders;
+    private final AtomicLong ticks = new AtomicLong();
+    private final AtomicLong droppedUpdates = new AtomicLong();
+    private final AtomicLong slowSubscribersDropped = new AtomicLong();
+    private volatile Map<String, Object> lastStats;
+
+    /**
+     * One connected client and its single-slot buffer
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicReference<Map<String, Object>> pending = new AtomicReference<>();
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        // System.nanoTime() when the send in progress started, 0 when none is
+        private volatile long sendStartedNanos;
+        private volatile String nextEvent = "snapshot";
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void offer(Map<String, Object> delta) {
+            Map<String, Object> previous = pending.getAndUpdate(current -> {
+                if (current == null) {
+                    return delta;
+                }
+                Map<String, Object> merged = new LinkedHashMap<>(current);
+                merged.putAll(delta);
+                return merged;
+            });
+            if (previous != null) {
+                droppedUpdates.incrementAndGet();
+            }
+            schedule();
+        }
+
+        private void heartbeat() {
+            heartbeatDue.set(true);
+            schedule();
+        }
+
+        private void schedule() {
+            if (sending.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Every sender is stuck on a client that stopped reading
+                    drop(new IOException("No dashboard stream sender available"));
+                }
+            }
+        }
+
+        private boolean isStalled(long now) {
+            long started = sendStartedNanos;
+            return started != 0 && now - started > TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        }
+
+        private void drop(Exception reason) {
+            if (subscribers.remove(this)) {
+                emitter.completeWithError(reason);
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            sendStartedNanos = System.nanoTime();
+            try {
+                emitter.send(event);
+            } finally {
+                sendStartedNanos = 0;
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    Map<String, Object> update = pending.getAndSet(null);
+                    if (update != null) {
+                        send(SseEmitter.event().name(nextEvent).data(update));
+                        nextEvent = "delta";
+                    } else if (heartbeatDue.getAndSet(false)) {
+                        send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        sending.set(false);
+                        // Re-check for work that arrived after the last poll
+                        if ((pending.get() == null && !heartbeatDue.get()) || !sending.compareAndSet(false, true)) {
+                            return;
+                        }
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away
+                drop(e);
+            }
+        }
+    }
+
+    @PostConstruct
+    public void startSenders() {
+        // One sender per subscriber at most; no queue, so a stuck pool rejects instead of waiting
+        senders = new ThreadPoolExecutor(0, Math.max(1, maxSubscribers), 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "dashboard-stream-sender-" + senderIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many dashboard subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        Map<String, Object> initial = lastStats;
+        subscriber.offer(initial != null ? initial : dashboardStatsService.getStats());
+        return emitter;
+    }
+
+    /**
+     * Compute the stats once and fan out whatever changed since the previous tick
+     */
+    @Scheduled(fixedDelayString = "${dashboard.stream.interval-ms:2000}")
+    public void tick() {
+        dropStalledSubscribers();
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> stats;
+        try {
+            stats = dashboardStatsService.refreshNow();
+        } catch (Exception e) {
+            log.error("Dashboard stream tick failed: {}", e.getMessage());
+            return;
+        }
+        ticks.incrementAndGet();
+        Map<String, Object> previous = lastStats;
+        lastStats = stats;
+
+        Map<String, Object> delta = new LinkedHashMap<>();
+        stats.forEach((key, value) -> {
+            if (previous == null || !Objects.equals(previous.get(key), value)) {
+                delta.put(key, value);
+            }
+        });
+        // asOf alone is not worth a push
+        if (delta.size() <= 1 && (delta.isEmpty() || delta.containsKey("asOf"))) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(delta);
+        }
+    }
+
+    /**
+     * Drop subscribers whose send has been blocked for longer than send-timeout-ms
+     */
+    private void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.isStalled(now)) {
+                slowSubscribersDropped.incrementAndGet();
+                log.warn("Dropping a dashboard subscriber that stopped reading");
+                subscriber.drop(new IOException("Dashboard subscriber stopped reading"));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    public long getDroppedUpdates() {
+        return droppedUpdates.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        stats.put("ticks", ticks.get());
+        stats.put("droppedUpdates", droppedUpdates.get());
+        stats.put("slowSubscribersDropped", slowSubscribersDropped.get());
+        stats.put("activeSenders", senders.getActiveCount());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+}
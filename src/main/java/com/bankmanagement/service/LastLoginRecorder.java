@@ -0,0 +1,157 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.repository.UserJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind buffer for users.last_login.
+ *
+ * Logins only record a timestamp in memory, coalesced per user. A scheduled flush
+ * drains the buffer and writes it with one batched UPDATE, in user id order so
+ * concurrent flushes cannot deadlock. A failed flush puts its entries back for the
+ * next run. The buffer is flushed once more on graceful shutdown.
+ */
+@Service
+public class LastLoginRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(LastLoginRecorder.class);
+
+    @Autowired
+    private UserJdbcRepository userJdbcRepository;
+
+    @Value("${users.last-login.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Latest login to write, and when the oldest unwritten login for this user was recorded
+     */
+    private record Pending(LocalDateTime lastLogin, long firstRecordedMillis) {
+
+        private Pending merge(Pending other) {
+            return new Pending(lastLogin.isAfter(other.lastLogin) ? lastLogin : other.lastLogin,
+                    Math.min(firstRecordedMillis, other.firstRecordedMillis));
+        }
+    }
+
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile long lastFlushAtMillis;
+    private volatile long lastFlushMillis;
+    private volatile int lastFlushRows;
+    private volatile long lastFlushLagMillis;
+    private volatile long failedFlushes;
+
+    public void recordLogin(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (!enabled) {
+            // Fall back to writing straight through
+            userJdbcRepository.batchUpdateLastLogin(List.of(Map.entry(userId, LocalDateTime.now())));
+            return;
+        }
+        pending.merge(userId, new Pending(LocalDateTime.now(), System.currentTimeMillis()), Pending::merge);
+    }
+
+    @Scheduled(fixedDelayString = "${users.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        long start = System.currentTimeMillis();
+        List<Long> userIds = new ArrayList<>(pending.keySet());
+        userIds.sort(null);
+
+        Map<Long, Pending> drained = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            // Logins recorded after this removal stay for the next flush
+            Pending entry = pending.remove(userId);
+            if (entry != null) {
+                drained.put(userId, entry);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, LocalDateTime>> batch = new ArrayList<>(drained.size());
+        long oldest = start;
+        for (Map.Entry<Long, Pending> entry : drained.entrySet()) {
+            batch.add(Map.entry(entry.getKey(), entry.getValue().lastLogin()));
+            oldest = Math.min(oldest, entry.getValue().firstRecordedMillis());
+        }
+
+        try {
+            userJdbcRepository.batchUpdateLastLogin(batch);
+            long end = System.currentTimeMillis();
+            lastFlushAtMillis = end;
+            lastFlushMillis = end - start;
+            lastFlushRows = batch.size();
+            lastFlushLagMillis = end - oldest;
+        } catch (Exception e) {
+            failedFlushes++;
+            drained.forEach((userId, entry) -> pending.merge(userId, entry, Pending::merge));
+            log.error("Failed to flush {} last-login updates: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (!pending.isEmpty()) {
+            log.debug("Flushing {} pending last-login updates before shutdown", pending.size());
+            flush();
+        }
+    }
+
+    public int getPendingUsers() {
+        return pending.size();
+    }
+
+    public long getLastFlushLagMillis() {
+        return lastFlushLagMillis;
+    }
+
+    /**
+     * Buffer size and flush lag: how long a login waits before it reaches the database
+     */
+    public Map<String, Object> getStats() {
+        long now = System.currentTimeMillis();
+        long oldest = now;
+        for (Pending entry : pending.values()) {
+            oldest = Math.min(oldest, entry.firstRecordedMillis());
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("pendingUsers", pending.size());
+        stats.put("currentLagMillis", now - oldest);
+        stats.put("lastFlushLagMillis", lastFlushLagMillis);
+        stats.put("lastFlushRows", lastFlushRows);
+        stats.put("lastFlushMillis", lastFlushMillis);
+        stats.put("lastFlushAtMillis", lastFlushAtMillis);
+        stats.put("failedFlushes", failedFlushes);
+        return stats;
+    }
+}
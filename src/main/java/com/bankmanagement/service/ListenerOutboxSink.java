@@ -0,0 +1,40 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.OutboxEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes outbox events as Spring application events, for in-process
+ * {@code @EventListener(OutboxEvent.class)} consumers. Listeners run on the relay thread.
+ */
+@Component
+public class ListenerOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${outbox.sinks.listener.enabled:true}")
+    private boolean enabled;
+
+    @Override
+    public String getName() {
+        return "listener";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.OutboxEvent;
+import com.bankmanagement.repository.OutboxJdbcRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transactional outbox for domain events.
+ *
+ * {@link #append} writes the event row in the caller's transaction, so an event exists
+ * exactly when the change it describes committed. Relay threads claim a batch with a
+ * lease (SKIP LOCKED, committed straight away), hand it to every sink with no
+ * transaction or connection held, and delete it once delivered. When a sink rejects
+ * the batch its events are retried one at a time, so a single bad event cannot hold
+ * back the rest: it is leased again with a growing delay and, after max-attempts
+ * failures, moved to outbox_dead_letter. Delivery is at-least-once and consumers
+ * deduplicate on the event id. Commits wake the relay directly, and it polls as a
+ * fallback.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxJdbcRepository outboxJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private List<OutboxSink> sinks = List.of();
+
+    @Value("${outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${outbox.relay.threads:1}")
+    private int threads;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    @Value("${outbox.relay.retry-backoff-ms:2000}")
+    private long retryBackoffMillis;
+
+    // Longer than a batch can take to deliver, or a second relay may deliver it again
+    @Value("${outbox.relay.lease-ms:60000}")
+    private long leaseMillis;
+
+    @Value("${outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.max-retry-delay-ms:300000}")
+    private long maxRetryDelayMillis;
+
+    private final Semaphore wakeup = new Semaphore(0);
+    private final List<Thread> relayThreads = new ArrayList<>();
+    private volatile boolean running;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong failedEvents = new AtomicLong();
+    private final AtomicLong parked = new AtomicLong();
+    private volatile long lastDeliveryLagMillis;
+    private volatile String lastError;
+
+    /**
+     * Record an event in the current transaction
+     */
+    public void append(String aggregateType, long aggregateId, String eventType, Map<String, Object> payload) {
+        if (!enabled) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize " + eventType + " event: " + e.getMessage(), e);
+        }
+        outboxJdbcRepository.insert(aggregateType, aggregateId, eventType, json);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeup.release();
+                }
+            });
+        } else {
+            wakeup.release();
+        }
+    }
+
+    @PostConstruct
+    public void selectSinks() {
+        sinks = sinks.stream().filter(OutboxSink::isEnabled).toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < Math.max(1, threads); i++) {
+            Thread thread = new Thread(this::relayLoop, "outbox-relay-" + (i + 1));
+            thread.setDaemon(true);
+            thread.start();
+            relayThreads.add(thread);
+        }
+        log.info("Outbox relay started with {} thread(s) and sinks {}", relayThreads.size(), sinks.stream().map(OutboxSink::getName).toList());
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                int delivered = relayBatch();
+                if (delivered < batchSize) {
+                    // Caught up: wait for a commit or the next poll
+                    wakeup.tryAcquire(pollIntervalMillis, TimeUnit.MILLISECONDS);
+                    wakeup.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                failedBatches.incrementAndGet();
+                lastError = e.getMessage();
+                log.error("Outbox relay batch failed, will retry: {}", e.getMessage());
+                try {
+                    Thread.sleep(retryBackoffMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Claim, deliver and delete one batch; returns the number of events delivered.
+     * Throws if an event could not be delivered, so the loop backs off.
+     */
+    public int relayBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> outboxJdbcRepository.claimBatch(batchSize, leaseMillis));
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+        List<OutboxSink> failedSinks = new ArrayList<>();
+        String batchError = null;
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publish(events);
+            } catch (Exception e) {
+                failedSinks.add(sink);
+                batchError = "Sink " + sink.getName() + " failed: " + e.getMessage();
+            }
+        }
+        if (failedSinks.isEmpty()) {
+            delivered(events);
+            return events.size();
+        }
+        if (!deliverOneByOne(events, failedSinks)) {
+            throw new RuntimeException(batchError);
+        }
+        return events.size();
+    }
+
+    /**
+     * Retry a rejected batch event by event on the sinks that rejected it, stopping at the
+     * first event that fails. Only that event has the failure counted against it; the ones
+     * after it were never tried alone and are released for the next pass. Returns whether
+     * every event was delivered.
+     */
+    private boolean deliverOneByOne(List<OutboxEvent> events, List<OutboxSink> failedSinks) {
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            String error = publishAlone(event, failedSinks);
+            if (error == null) {
+                continue;
+            }
+            if (i > 0) {
+                delivered(events.subList(0, i));
+            }
+            List<Long> untried = new ArrayList<>(events.size() - i - 1);
+            for (OutboxEvent rest : events.subList(i + 1, events.size())) {
+                untried.add(rest.eventId());
+            }
+            transactionTemplate.executeWithoutResult(status -> outboxJdbcRepository.release(untried));
+            recordFailure(event, error);
+            return false;
+        }
+        delivered(events);
+        return true;
+    }
+
+    // Returns the first sink's error, or null once every sink has the event
+    private String publishAlone(OutboxEvent event, List<OutboxSink> targets) {
+        for (OutboxSink sink : targets) {
+            try {
+                sink.publish(List.of(event));
+            } catch (Exception e) {
+                return "Sink " + sink.getName() + " failed on event " + event.eventId() + ": " + e.getMessage();
+            }
+        }
+        return null;
+    }
+
+    private void recordFailure(OutboxEvent event, String error) {
+        failedEvents.incrementAndGet();
+        transactionTemplate.executeWithoutResult(status -> {
+            int attempts = outboxJdbcRepository.recordFailure(event.eventId(), error, retryBackoffMillis, maxRetryDelayMillis);
+            if (attempts >= maxAttempts) {
+                outboxJdbcRepository.park(event.eventId());
+                parked.incrementAndGet();
+                log.error("Outbox event {} ({}) failed {} times and was moved to outbox_dead_letter: {}",
+                        event.eventId(), event.eventType(), attempts, error);
+            }
+        });
+    }
+
+    private void delivered(List<OutboxEvent> events) {
+        List<Long> ids = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            ids.add(event.eventId());
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxJdbcRepository.deleteByIds(ids));
+        lastDeliveryLagMillis = Duration.between(events.get(0).createdAt(), LocalDateTime.now()).toMillis();
+        published.addAndGet(events.size());
+        batches.incrementAndGet();
+    }
+
+    /**
+     * Move every event in outbox_dead_letter back to the outbox for another round of
+     * attempts; returns the number requeued
+     */
+    public int requeueParked() {
+        Integer requeued = transactionTemplate.execute(status -> outboxJdbcRepository.requeueParked());
+        wakeup.release();
+        return requeued == null ? 0 : requeued;
+    }
+
+    public long getPublishedCount() {
+        return published.get();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    public long getFailedEvents() {
+        return failedEvents.get();
+    }
+
+    public long getParkedCount() {
+        return parked.get();
+    }
+
+    public long getLastDeliveryLagMillis() {
+        return lastDeliveryLagMillis;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("sinks", sinks.stream().map(OutboxSink::getName).toList());
+        stats.put("pending", enabled ? outboxJdbcRepository.countPending() : 0);
+        stats.put("published", published.get());
+        stats.put("batches", batches.get());
+        stats.put("failedBatches", failedBatches.get());
+        stats.put("failedEvents", failedEvents.get());
+        stats.put("parked", parked.get());
+        stats.put("deadLetter", enabled ? outboxJdbcRepository.countParked() : 0);
+        stats.put("lastDeliveryLagMillis", lastDeliveryLagMillis);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        for (Thread thread : relayThreads) {
+            thread.interrupt();
+        }
+        for (Thread thread : relayThreads) {
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        relayThreads.clear();
+    }
+}
@@ -0,0 +1,28 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * A destination for outbox events. Delivery is at-least-once: a batch whose publish
+ * throws is retried event by event, and an event that keeps failing is offered to every
+ * sink again on each of its retries, so sinks must tolerate duplicates (use the event id).
+ */
+public interface OutboxSink {
+
+    String getName();
+
+    /**
+     * Whether the relay should deliver to this sink. Sinks are switched on and off by
+     * settings read at runtime, not by conditions an AOT-processed build would fix.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Deliver a batch, in event id order. Return only once the batch is durably handed over.
+     */
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,218 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.repository.BalanceSlotJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in sharded balances for hot accounts.
+ *
+ * Credits to a sharded account land in one of N slot rows picked by hashing the
+ * calling thread, so concurrent deposits do not queue on the single accounts row.
+ * The accounts row holds the folded part of the balance; the effective balance is
+ * that plus the sum of the slots. Debits lock the accounts row and fold the slots
+ * in first when the folded part alone cannot cover them. A scheduled job folds all
+ * slots back into the accounts row.
+ */
+@Service
+@Transactional
+public class ShardedBalanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedBalanceService.class);
+
+    @Autowired
+    private BalanceSlotJdbcRepository balanceSlotJdbcRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${accounts.sharded-balance.max-slots:64}")
+    private int maxSlots;
+
+    // accountId -> slot count; refreshed by the fold job so other instances' changes are picked up
+    private volatile Map<Long, Integer> slotCounts = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void loadShardedAccounts() {
+        try {
+            refreshShardedAccounts();
+            if (!slotCounts.isEmpty()) {
+                log.info("Sharded balances enabled for {} accounts", slotCounts.size());
+            }
+        } catch (Exception e) {
+            log.warn("Sharded balances unavailable: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Re-read which accounts are sharded, dropping any the database no longer has
+     */
+    public void reload() {
+        refreshShardedAccounts();
+    }
+
+    public boolean isSharded(Long accountId) {
+        return accountId != null && slotCounts.containsKey(accountId);
+    }
+
+    public boolean hasShardedAccounts() {
+        return !slotCounts.isEmpty();
+    }
+
+    public Map<Long, Integer> getShardedAccounts() {
+        return new HashMap<>(slotCounts);
+    }
+
+    /**
+     * Turn on sharded balance for an account, or change its slot count
+     */
+    public void enable(Long accountId, int slots) {
+        if (slots < 2 || slots > maxSlots) {
+            throw new RuntimeException("Slot count must be between 2 and " + maxSlots);
+        }
+        balanceSlotJdbcRepository.fold(accountId);
+        balanceSlotJdbcRepository.deleteSlots(accountId);
+        balanceSlotJdbcRepository.createSlots(accountId, slots);
+        slotCounts.put(accountId, slots);
+    }
+
+    /**
+     * Fold the slots into the account row and go back to a single balance
+     */
+    public void disable(Long accountId) {
+        balanceSlotJdbcRepository.fold(accountId);
+        balanceSlotJdbcRepository.deleteSlots(accountId);
+        slotCounts.remove(accountId);
+    }
+
+    /**
+     * Fold the slots of a sharded account into its row, so the row holds the whole balance
+     */
+    public void foldIfSharded(Long accountId) {
+        if (isSharded(accountId)) {
+            balanceSlotJdbcRepository.fold(accountId);
+        }
+    }
+
+    public void credit(Long accountId, BigDecimal amount) {
+        Integer slots = slotCounts.get(accountId);
+        if (slots == null || !balanceSlotJdbcRepository.credit(accountId, slotFor(slots), amount)) {
+            // Sharding was turned off concurrently, credit the account row instead
+            balanceSlotJdbcRepository.creditMain(accountId, amount);
+        }
+    }
+
+    public void debit(Long accountId, BigDecimal amount) {
+        BigDecimal folded = balanceSlotJdbcRepository.lockMainBalance(accountId);
+        if (folded.compareTo(amount) < 0) {
+            balanceSlotJdbcRepository.fold(accountId);
+            folded = balanceSlotJdbcRepository.lockMainBalance(accountId);
+        }
+        if (folded.compareTo(amount) < 0) {
+            throw new RuntimeException("Insufficient funds. Available balance: $" + folded + ", Required: $" + amount);
+        }
+        balanceSlotJdbcRepository.debitMain(accountId, amount);
+    }
+
+    /**
+     * Balance still sitting in the slots of an account, not yet folded into the account row
+     */
+    public BigDecimal getUnfoldedBalance(Long accountId) {
+        return isSharded(accountId) ? balanceSlotJdbcRepository.sumSlots(accountId) : BigDecimal.ZERO;
+    }
+
+    /**
+     * Unfolded balance of each sharded account among accountIds; queries only if there is one
+     */
+    public Map<Long, BigDecimal> getUnfoldedBalances(Collection<Long> accountIds) {
+        List<Long> shardedIds = accountIds.stream().filter(this::isSharded).toList();
+        return shardedIds.isEmpty() ? Map.of() : balanceSlotJdbcRepository.sumSlotsByAccounts(shardedIds);
+    }
+
+    public BigDecimal getUnfoldedActiveBalance() {
+        return hasShardedAccounts() ? balanceSlotJdbcRepository.sumActiveSlots() : BigDecimal.ZERO;
+    }
+
+    /**
+     * Add unfolded slot balances to account rows shaped like findAllAccountsAsMap
+     */
+    public List<Map<String, Object>> withEffectiveBalances(List<Map<String, Object>> accounts) {
+        if (!hasShardedAccounts()) {
+            return accounts;
+        }
+        return withUnfolded(accounts, balanceSlotJdbcRepository.sumSlotsByAccount());
+    }
+
+    /**
+     * One account from findAccountAsMapById with the slots of a sharded account added to its balance
+     */
+    public Map<String, Object> withEffectiveBalance(Long accountId, Map<String, Object> account) {
+        if (!isSharded(accountId)) {
+            return account;
+        }
+        return withUnfolded(List.of(account), Map.of(accountId, balanceSlotJdbcRepository.sumSlots(accountId))).get(0);
+    }
+
+    static List<Map<String, Object>> withUnfolded(List<Map<String, Object>> accounts, Map<Long, BigDecimal> unfolded) {
+        List<Map<String, Object>> result = new ArrayList<>(accounts.size());
+        for (Map<String, Object> account : accounts) {
+            Object id = account.get("accountId");
+            BigDecimal extra = id instanceof Number ? unfolded.get(((Number) id).longValue()) : null;
+            if (extra == null || extra.signum() == 0) {
+                result.add(account);
+                continue;
+            }
+            Map<String, Object> adjusted = new LinkedHashMap<>(account);
+            BigDecimal balance = (BigDecimal) account.get("balance");
+            adjusted.put("balance", balance != null ? balance.add(extra) : extra);
+            result.add(adjusted);
+        }
+        return result;
+    }
+
+    /**
+     * Periodically fold every sharded account, one short transaction per account
+     */
+    @Scheduled(fixedDelayString = "${accounts.sharded-balance.fold-interval-ms:5000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void foldAll() {
+        for (Long accountId : slotCounts.keySet()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> balanceSlotJdbcRepository.fold(accountId));
+            } catch (Exception e) {
+                log.error("Failed to fold balance slots for account {}: {}", accountId, e.getMessage());
+            }
+        }
+        try {
+            refreshShardedAccounts();
+        } catch (Exception e) {
+            // Keep the last known set until the table is reachable again
+        }
+    }
+
+    private void refreshShardedAccounts() {
+        slotCounts = new ConcurrentHashMap<>(balanceSlotJdbcRepository.findSlotCounts());
+    }
+
+    private int slotFor(int slots) {
+        long h = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(h ^ (h >>> 32), (long) slots);
+    }
+}
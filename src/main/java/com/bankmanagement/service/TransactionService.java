@@ -4,11 +4,15 @@ import com.bankmanagement.model.Transaction;
 import com.bankmanagement.model.Account;
 import com.bankmanagement.repository.TransactionRepository;
 import com.bankmanagement.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -16,6 +20,10 @@ import java.util.Optional;
 @Service
 @Transactional
 public class TransactionService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
+    // Per-row logging, sampled by SamplingTurboFilter
+    private static final Logger rowLog = LoggerFactory.getLogger("com.bankmanagement.rows.balances");
     
     @Autowired
     private TransactionRepository transactionRepository;
@@ -23,6 +31,13 @@ public class TransactionService {
     @Autowired
     private AccountRepository accountRepository;
     
+    @Autowired
+    private ShardedBalanceService shardedBalanceService;
+    
+    @Autowired
+    private OutboxRelay outboxRelay;
+    
+    @Transactional(readOnly = true)
     public List<Transaction> getAllTransactions() {
         return transactionRepository.findAll();
     }
@@ -43,10 +58,7 @@ public class TransactionService {
         // }
         
         // Debug logging
-        System.out.println("🔍 Creating transaction: " + transaction.getTransactionType() + 
-                         " - Amount: $" + transaction.getAmount() + 
-                         " - Account ID: " + transaction.getAccountId() + 
-                         " - Destination Account ID: " + transaction.getDestinationAccountId());
+        log.debug("Creating transaction: {} - Amount: ${} - Account ID: {} - Destination Account ID: {}", transaction.getTransactionType(), transaction.getAmount(), transaction.getAccountId(), transaction.getDestinationAccountId());
         
         try {
             // Validate transaction before processing
@@ -61,19 +73,33 @@ public class TransactionService {
         } catch (Exception e) {
             // If any error occurs, mark as FAILED
             // transaction.setStatus(Transaction.TransactionStatus.FAILED);
-            System.err.println("❌ Transaction failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Transaction failed", e);
         }
         
         // Save the transaction with determined status
         Transaction savedTransaction = transactionRepository.save(transaction);
         
-        System.out.println("✅ Transaction saved with ID: " + savedTransaction.getTransactionId() + 
-                         " - Destination Account ID: " + savedTransaction.getDestinationAccountId());
+        // Committed, or rolled back, together with the transaction row
+        outboxRelay.append("Transaction", savedTransaction.getTransactionId(), "TransactionPosted",
+                toEventPayload(savedTransaction));
+        
+        log.info("Transaction saved with ID: {} - Destination Account ID: {}", savedTransaction.getTransactionId(), savedTransaction.getDestinationAccountId());
         
         return savedTransaction;
     }
     
+    private Map<String, Object> toEventPayload(Transaction transaction) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("transactionId", transaction.getTransactionId());
+        payload.put("accountId", transaction.getAccountId());
+        payload.put("destinationAccountId", transaction.getDestinationAccountId());
+        payload.put("transactionType", transaction.getTransactionType());
+        payload.put("amount", transaction.getAmount());
+        payload.put("description", transaction.getDescription());
+        payload.put("transactionDate", transaction.getTransactionDate());
+        return payload;
+    }
+    
     private void validateTransaction(Transaction transaction) {
         // Validate account exists
         if (!accountRepository.existsById(transaction.getAccountId())) {
@@ -92,9 +118,11 @@ public class TransactionService {
             var accountOpt = accountRepository.findById(transaction.getAccountId());
             if (accountOpt.isPresent()) {
                 var account = accountOpt.get();
-                if (account.getBalance().compareTo(transaction.getAmount()) < 0) {
+                var availableBalance = account.getBalance()
+                        .add(shardedBalanceService.getUnfoldedBalance(account.getAccountId()));
+                if (availableBalance.compareTo(transaction.getAmount()) < 0) {
                     throw new RuntimeException("Insufficient funds. Available balance: $" + 
-                        account.getBalance() + ", Required: $" + transaction.getAmount());
+                        availableBalance + ", Required: $" + transaction.getAmount());
                 }
             }
         }
@@ -120,47 +148,88 @@ public class TransactionService {
                 var currentBalance = account.getBalance();
                 var transactionAmount = transaction.getAmount();
                 
+                // Sharded-balance accounts are updated through their slots, not the entity
+                if (shardedBalanceService.isSharded(account.getAccountId())) {
+                    updateShardedAccountBalance(transaction);
+                    return;
+                }
+                
                 // Update balance based on transaction type
+                account.setBalance(balanceAfter(transaction.getTransactionType(), currentBalance, transactionAmount));
                 switch (transaction.getTransactionType()) {
-                    case DEPOSIT:
-                    case INTEREST_CREDIT:
-                        account.setBalance(currentBalance.add(transactionAmount));
-                        break;
-                    case WITHDRAWAL:
-                        account.setBalance(currentBalance.subtract(transactionAmount));
-                        break;
                     case TRANSFER:
-                        // For transfers, subtract from source account
-                        account.setBalance(currentBalance.subtract(transactionAmount));
-                        System.out.println("🔄 Transfer: Subtracted $" + transactionAmount + " from account " + account.getAccountNumber());
+                        // For transfers, the source account was debited above
+                        log.debug("Transfer: Subtracted ${} from account {}", transactionAmount, account.getAccountNumber());
                         
                         // Add to destination account
                         if (transaction.getDestinationAccountId() != null) {
-                            System.out.println("🔄 Transfer: Looking for destination account ID: " + transaction.getDestinationAccountId());
+                            log.debug("Transfer: Looking for destination account ID: {}", transaction.getDestinationAccountId());
                             var destAccountOpt = accountRepository.findById(transaction.getDestinationAccountId());
-                            if (destAccountOpt.isPresent()) {
+                            if (destAccountOpt.isPresent() && shardedBalanceService.isSharded(transaction.getDestinationAccountId())) {
+                                shardedBalanceService.credit(transaction.getDestinationAccountId(), transactionAmount);
+                                log.debug("Transfer: Credited sharded destination account {}", destAccountOpt.get().getAccountNumber());
+                            } else if (destAccountOpt.isPresent()) {
                                 var destAccount = destAccountOpt.get();
                                 var oldDestBalance = destAccount.getBalance();
                                 destAccount.setBalance(destAccount.getBalance().add(transactionAmount));
                                 accountRepository.save(destAccount);
-                                System.out.println("✅ Transfer: Updated destination account " + destAccount.getAccountNumber() + 
-                                    " balance from $" + oldDestBalance + " to $" + destAccount.getBalance());
+                                log.debug("Transfer: Updated destination account {} balance from ${} to ${}", destAccount.getAccountNumber(), oldDestBalance, destAccount.getBalance());
                             } else {
-                                System.err.println("❌ Transfer: Destination account not found with ID: " + transaction.getDestinationAccountId());
+                                log.warn("Transfer: Destination account not found with ID: {}", transaction.getDestinationAccountId());
                             }
                         } else {
-                            System.err.println("❌ Transfer: Destination account ID is null!");
+                            log.warn("Transfer: Destination account ID is null");
                         }
                         break;
                 }
                 
                 accountRepository.save(account);
-                System.out.println("✅ Updated account balance for account " + account.getAccountNumber() + 
-                                 " to $" + account.getBalance());
+                log.debug("Updated account balance for account {} to ${}", account.getAccountNumber(), account.getBalance());
             }
         } catch (Exception e) {
-            System.err.println("❌ Error updating account balance: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error updating account balance", e);
+        }
+    }
+    
+    /**
+     * Source account balance after applying a transaction of the given type
+     */
+    static BigDecimal balanceAfter(Transaction.TransactionType type, BigDecimal balance, BigDecimal amount) {
+        switch (type) {
+            case DEPOSIT:
+            case INTEREST_CREDIT:
+                return balance.add(amount);
+            case WITHDRAWAL:
+            case TRANSFER:
+                return balance.subtract(amount);
+            default:
+                return balance;
+        }
+    }
+    
+    private void updateShardedAccountBalance(Transaction transaction) {
+        Long accountId = transaction.getAccountId();
+        var transactionAmount = transaction.getAmount();
+        switch (transaction.getTransactionType()) {
+            case DEPOSIT:
+            case INTEREST_CREDIT:
+                shardedBalanceService.credit(accountId, transactionAmount);
+                break;
+            case WITHDRAWAL:
+                shardedBalanceService.debit(accountId, transactionAmount);
+                break;
+            case TRANSFER:
+                shardedBalanceService.debit(accountId, transactionAmount);
+                Long destinationId = transaction.getDestinationAccountId();
+                if (shardedBalanceService.isSharded(destinationId)) {
+                    shardedBalanceService.credit(destinationId, transactionAmount);
+                } else if (destinationId != null) {
+                    accountRepository.findById(destinationId).ifPresent(destAccount -> {
+                        destAccount.setBalance(destAccount.getBalance().add(transactionAmount));
+                        accountRepository.save(destAccount);
+                    });
+                }
+                break;
         }
     }
     
@@ -171,32 +240,35 @@ public class TransactionService {
         transactionRepository.deleteById(id);
     }
     
+    @Transactional(readOnly = true)
     public long getTotalTransactions() {
         return transactionRepository.count();
     }
     
+    @Transactional(readOnly = true)
     public long getMonthlyTransactions() {
         LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
         return transactionRepository.countByTransactionDateAfter(startOfMonth);
     }
     
+    @Transactional(readOnly = true)
     public List<Map<String, Object>> getAllTransactionsAsMap() {
         return transactionRepository.findAllTransactionsAsMap();
     }
     
     public void recalculateAllAccountBalances() {
         try {
-            System.out.println("🔍 Recalculating all account balances...");
+            log.debug("Recalculating all account balances...");
             
             // Get all accounts
             List<Account> accounts = accountRepository.findAll();
             
             for (Account account : accounts) {
-                System.out.println("🔍 Processing account: " + account.getAccountNumber() + " (current balance: $" + account.getBalance() + ")");
+                rowLog.debug("Processing account: {} (current balance: ${})", account.getAccountNumber(), account.getBalance());
                 
                 // Get all transactions for this account
                 List<Transaction> transactions = transactionRepository.findByAccountIdOrderByTransactionDateAsc(account.getAccountId());
-                System.out.println("📝 Found " + transactions.size() + " transactions for this account");
+                rowLog.debug("Found {} transactions for this account", transactions.size());
                 
                 // Start with the current balance (don't reset to zero)
                 var currentBalance = account.getBalance();
@@ -210,16 +282,16 @@ public class TransactionService {
                         case DEPOSIT:
                         case INTEREST_CREDIT:
                             currentBalance = currentBalance.add(transactionAmount);
-                            System.out.println("  💰 " + transaction.getTransactionType() + " +$" + transactionAmount + " (balance: $" + oldBalance + " → $" + currentBalance + ")");
+                            rowLog.debug("{} +${} (balance: ${} → ${})", transaction.getTransactionType(), transactionAmount, oldBalance, currentBalance);
                             break;
                         case WITHDRAWAL:
                             currentBalance = currentBalance.subtract(transactionAmount);
-                            System.out.println("  💸 " + transaction.getTransactionType() + " -$" + transactionAmount + " (balance: $" + oldBalance + " → $" + currentBalance + ")");
+                            rowLog.debug("{} -${} (balance: ${} → ${})", transaction.getTransactionType(), transactionAmount, oldBalance, currentBalance);
                             break;
                         case TRANSFER:
                             // For transfers, subtract from source account
                             currentBalance = currentBalance.subtract(transactionAmount);
-                            System.out.println("  🔄 " + transaction.getTransactionType() + " -$" + transactionAmount + " (balance: $" + oldBalance + " → $" + currentBalance + ")");
+                            rowLog.debug("{} -${} (balance: ${} → ${})", transaction.getTransactionType(), transactionAmount, oldBalance, currentBalance);
                             break;
                     }
                 }
@@ -228,17 +300,15 @@ public class TransactionService {
                 if (!currentBalance.equals(account.getBalance())) {
                     account.setBalance(currentBalance);
                     accountRepository.save(account);
-                    System.out.println("✅ Updated balance for account " + account.getAccountNumber() + 
-                                     " to $" + account.getBalance());
+                    rowLog.debug("Updated balance for account {} to ${}", account.getAccountNumber(), account.getBalance());
                 } else {
-                    System.out.println("ℹ️ No balance change needed for account " + account.getAccountNumber());
+                    rowLog.debug("No balance change needed for account {}", account.getAccountNumber());
                 }
             }
             
-            System.out.println("✅ All account balances recalculated successfully");
+            log.info("All account balances recalculated successfully");
         } catch (Exception e) {
-            System.err.println("❌ Error recalculating account balances: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error recalculating account balances", e);
         }
     }
 }
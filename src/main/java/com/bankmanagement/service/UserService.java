@@ -0,0 +1,107 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.exception.DuplicateResourceException;
+import com.bankmanagement.model.Role;
+import com.bankmanagement.model.User;
+import com.bankmanagement.repository.RoleRepository;
+import com.bankmanagement.repository.UserRepository;
+import com.bankmanagement.security.PasswordHashingService;
+import com.bankmanagement.security.RolePermissionResolver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Staff users. Password hashing and verification run on the PasswordHashingService
+ * pool, so these methods return futures instead of blocking the caller.
+ */
+@Service
+@Transactional
+public class UserService {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private RoleRepository roleRepository;
+    
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+    
+    @Autowired
+    private RolePermissionResolver rolePermissionResolver;
+    
+    @Autowired
+    private LastLoginRecorder lastLoginRecorder;
+    
+    // Database work after hashing runs here, keeping the hashing pool for BCrypt only
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor applicationTaskExecutor;
+    
+    public Optional<User> getUserByUsername(String username) {
+        return userRepository.findByUsername(username);
+    }
+    
+    /**
+     * Create a user once its password has been hashed; the insert runs on the application
+     * task executor rather than the hashing pool. Completes exceptionally with
+     * DuplicateResourceException when the username or email is taken.
+     */
+    public CompletableFuture<User> createUser(User user, Set<Role.RoleName> roleNames) {
+        if (userRepository.existsByUsername(user.getUsername())) {
+            return CompletableFuture.failedFuture(
+                    new DuplicateResourceException("username", "User " + user.getUsername() + " already exists"));
+        }
+        Set<Role> roles = new HashSet<>(roleRepository.findByRoleNameIn(roleNames));
+        return passwordHashingService.hash(user.getPassword()).thenApplyAsync(hash -> {
+            user.setPassword(hash);
+            user.setRoles(roles);
+            user.setCreatedAt(LocalDateTime.now());
+            try {
+                User saved = userRepository.saveAndFlush(user);
+                rolePermissionResolver.refreshAfterCommit();
+                return saved;
+            } catch (DataIntegrityViolationException e) {
+                throw new DuplicateResourceException("user", "User with this username or email already exists");
+            }
+        }, applicationTaskExecutor);
+    }
+    
+    /**
+     * Check a username and password. Completes with the user when they match and the
+     * user is enabled, or with empty otherwise. Successful logins update last_login
+     * through the write-behind LastLoginRecorder. Deliberately not read-only, which would
+     * route it to the replica: a user must be able to log in right after registering.
+     */
+    public CompletableFuture<Optional<User>> authenticate(String username, String rawPassword) {
+        Optional<User> user = userRepository.findByUsername(username)
+                .filter(candidate -> Boolean.TRUE.equals(candidate.getIsEnabled())
+                        && Boolean.TRUE.equals(candidate.getIsAccountNonLocked()));
+        String hash = user.map(User::getPassword).orElse(null);
+        return passwordHashingService.matches(rawPassword, hash)
+                .thenApply(matches -> {
+                    if (!matches) {
+                        return Optional.empty();
+                    }
+                    user.ifPresent(found -> lastLoginRecorder.recordLogin(found.getUserId()));
+                    return user;
+                });
+    }
+    
+    public List<String> getRoleNames(User user) {
+        return user.getRoles().stream()
+                .map(role -> role.getRoleName().name())
+                .toList();
+    }
+}
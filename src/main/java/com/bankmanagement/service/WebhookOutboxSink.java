@@ -0,0 +1,60 @@
+package com.bankmanagement.service;
+
+import com.bankmanagement.model.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * POSTs each batch as a JSON array to a webhook URL; stands in for a message broker.
+ * Any non-2xx response fails the batch so it is delivered again. Enabled by setting
+ * outbox.sinks.webhook.url.
+ */
+@Component
+public class WebhookOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${outbox.sinks.webhook.url:}")
+    private String url;
+
+    @Value("${outbox.sinks.webhook.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return !url.isBlank();
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> events) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(timeoutMillis))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(events)))
+                .build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Webhook returned HTTP " + response.statusCode());
+        }
+    }
+}
@@ -1,30 +1,59 @@
 package com.bankmanagement.util;
 
+import com.bankmanagement.config.DatasetProperties;
+import com.bankmanagement.config.SchemaMigrator;
+import com.bankmanagement.service.AutocompleteService;
+import com.bankmanagement.service.CustomerDuplicateFilter;
+import com.bankmanagement.service.ShardedBalanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 
+// Only used by the admin DatabaseController, created with it on first use
+@Lazy
 @Component
 public class DatabaseManager {
 
+    private static final Logger log = LoggerFactory.getLogger(DatabaseManager.class);
+
     @Autowired
     private JdbcTemplate jdbcTemplate;
 
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DatasetProperties datasetProperties;
+
+    @Autowired
+    private ShardedBalanceService shardedBalanceService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private CustomerDuplicateFilter customerDuplicateFilter;
+
     /**
      * Execute custom SQL commands
      */
     public void executeSQL(String sql) {
         try {
             jdbcTemplate.execute(sql);
-            System.out.println("✅ SQL executed successfully");
+            log.info("SQL executed successfully");
         } catch (Exception e) {
-            System.err.println("❌ Error executing SQL: " + e.getMessage());
+            log.error("Error executing SQL: {}", e.getMessage());
         }
     }
 
@@ -37,7 +66,7 @@ public class DatabaseManager {
             String sql = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
             executeSQL(sql);
         } catch (IOException e) {
-            System.err.println("❌ Error reading file: " + e.getMessage());
+            log.error("Error reading file: {}", e.getMessage());
         }
     }
 
@@ -73,39 +102,53 @@ public class DatabaseManager {
     /**
      * Reset database (drop and recreate all tables)
      */
-    public void resetDatabase() {
-        System.out.println("🔄 Resetting database...");
+    public void resetDatabase() throws SQLException, IOException {
+        log.info("Resetting database...");
         
-        // Drop tables in reverse order
+        // Drop tables in reverse order. The slots and outbox rows describe the dropped accounts
+        // and transactions, and the migrations only create tables that do not exist yet
+        executeSQL("DROP TABLE IF EXISTS outbox_dead_letter");
+        executeSQL("DROP TABLE IF EXISTS outbox");
+        executeSQL("DROP TABLE IF EXISTS account_balance_slots");
         executeSQL("DROP TABLE IF EXISTS transactions CASCADE");
         executeSQL("DROP TABLE IF EXISTS accounts CASCADE");
         executeSQL("DROP TABLE IF EXISTS customers CASCADE");
+        executeSQL("DROP TABLE IF EXISTS schema_version");
         
-        // Recreate tables
-        executeSQLFromFile("database-schema.sql");
+        // Recreate tables by replaying the migrations
+        new SchemaMigrator(dataSource).migrate();
+        shardedBalanceService.reload();
+        autocompleteService.rebuild();
+        customerDuplicateFilter.rebuild();
         
-        System.out.println("✅ Database reset completed");
+        log.info("Database reset completed");
     }
 
     /**
-     * Add sample data - DISABLED (no mock data)
+     * Add a synthetic dataset sized by the dataset.* properties, after any existing rows
      */
-    public void addSampleData() {
-        System.out.println("ℹ️ Sample data feature is disabled - no mock data will be added");
+    public Map<String, Object> addSampleData() throws SQLException, InterruptedException {
+        log.info("Adding sample data...");
+        try {
+            return new DatasetGenerator(dataSource, datasetProperties).generate().toMap();
+        } finally {
+            // Loaded with COPY, past the search indexes; chunks committed before a failure count too
+            autocompleteService.rebuild();
+            customerDuplicateFilter.rebuild();
+        }
     }
 
     /**
      * Show database status
      */
     public void showDatabaseStatus() {
-        System.out.println("\n📊 Database Status:");
-        System.out.println("==================");
+        log.info("Database status:");
         
         List<Map<String, Object>> tables = getAllTables();
         for (Map<String, Object> table : tables) {
             String tableName = (String) table.get("table_name");
             int rowCount = getTableRowCount(tableName);
-            System.out.println(tableName + ": " + rowCount + " rows");
+            log.info("{}: {} rows", tableName, rowCount);
         }
     }
 }
@@ -0,0 +1,530 @@
+package com.bankmanagement.util;
+
+import com.bankmanagement.config.DatasetProperties;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bulk loads a synthetic, reproducible dataset of customers, accounts and transactions with COPY.
+ *
+ * Customers are split into chunks. Each chunk draws from its own random stream derived from the
+ * seed and is loaded by one worker, on its own connection, in one transaction, so a seed gives the
+ * same data whatever the thread count. Ids continue after the current maximum and the sequences are
+ * moved past them at the end, so the target database should be quiet while this runs.
+ *
+ * Activity is skewed: transaction counts per account are log-normal, and the hot accounts, spread
+ * evenly over the new id range, share {@code hotShare} of all transactions between them. Histories
+ * are generated in time order, withdrawals and transfers never overdraw, transfers stay within the
+ * chunk, and every balance equals the sum of the account's completed history.
+ *
+ * One run at a time per process: a second call fails instead of loading alongside the first,
+ * which would find the history indexes already dropped and leave them missing.
+ */
+public class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    // Shared by every instance; the endpoint creates a new generator per request
+    private static final ReentrantLock RUNNING = new ReentrantLock();
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Carlos", "Karen",
+            "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Sandra", "Mark", "Ashley", "Minh", "Emily",
+            "Wei", "Priya", "Ahmed", "Sofia", "Luis", "Mei", "Ivan", "Fatima", "Kenji", "Olivia"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Nguyen", "Tran", "Pham",
+            "Chen", "Wang", "Kim", "Patel", "Singh", "Khan", "Ivanov", "Tanaka", "Silva", "Rossi"};
+    private static final String[] STREETS = {
+            "Main St", "Oak Ave", "Maple Dr", "Cedar Ln", "Pine St", "Elm St", "Washington Blvd", "Lake Rd",
+            "Hill St", "Park Ave", "Sunset Blvd", "River Rd"};
+    private static final String[] CITIES = {
+            "Springfield", "Riverside", "Franklin", "Greenville", "Madison", "Georgetown", "Salem", "Fairview",
+            "Clinton", "Arlington", "Ashland", "Burlington"};
+    private static final String[] DEPOSIT_DESCRIPTIONS = {"Salary", "Cash deposit", "Check deposit", "Refund"};
+    private static final String[] WITHDRAWAL_DESCRIPTIONS = {"ATM withdrawal", "Card payment", "Bill payment", "Rent"};
+
+    private static final String[] ACCOUNT_TYPES = {"CHECKING", "SAVINGS", "FIXED_DEPOSIT"};
+    private static final int CHECKING = 0;
+    private static final int SAVINGS = 1;
+
+    private static final String CUSTOMERS_COPY = "COPY customers (customer_id, first_name, last_name, address, phone, email, "
+            + "date_of_birth, created_at, is_active) FROM STDIN";
+    private static final String ACCOUNTS_COPY = "COPY accounts (account_id, customer_id, account_number, account_type, balance, "
+            + "interest_rate, created_at, status) FROM STDIN";
+    private static final String TRANSACTIONS_COPY = "COPY transactions (account_id, transaction_type, amount, transaction_date, "
+            + "description, destination_account_id, status) FROM STDIN";
+
+    /**
+     * Id ranges of a generated dataset and where its hot accounts are
+     */
+    public static final class Summary {
+        private final long firstCustomerId;
+        private final long lastCustomerId;
+        private final long firstAccountId;
+        private final long lastAccountId;
+        private final long transactions;
+        private final int hotAccounts;
+        private final long hotAccountStride;
+
+        Summary(long firstCustomerId, long lastCustomerId, long firstAccountId, long lastAccountId, long transactions,
+                int hotAccounts, long hotAccountStride) {
+            this.firstCustomerId = firstCustomerId;
+            this.lastCustomerId = lastCustomerId;
+            this.firstAccountId = firstAccountId;
+            this.lastAccountId = lastAccountId;
+            this.transactions = transactions;
+            this.hotAccounts = hotAccounts;
+            this.hotAccountStride = hotAccountStride;
+        }
+
+        public long getFirstCustomerId() {
+            return firstCustomerId;
+        }
+
+        public long getLastCustomerId() {
+            return lastCustomerId;
+        }
+
+        public long getFirstAccountId() {
+            return firstAccountId;
+        }
+
+        public long getLastAccountId() {
+            return lastAccountId;
+        }
+
+        public long getTransactions() {
+            return transactions;
+        }
+
+        public int getHotAccounts() {
+            return hotAccounts;
+        }
+
+        /**
+         * Id of the n-th hot account, 0 <= n < hotAccounts
+         */
+        public long hotAccountId(int n) {
+            return firstAccountId + n * hotAccountStride;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("customers", lastCustomerId - firstCustomerId + 1);
+            map.put("firstCustomerId", firstCustomerId);
+            map.put("accounts", lastAccountId - firstAccountId + 1);
+            map.put("firstAccountId", firstAccountId);
+            map.put("transactions", transactions);
+            map.put("hotAccounts", hotAccounts);
+            return map;
+        }
+    }
+
+    private final DataSource dataSource;
+    private final DatasetProperties properties;
+
+    // Fixed for one run
+    private long firstCustomerId;
+    private long firstAccountId;
+    private int hotAccounts;
+    private long hotAccountStride;
+    private double hotMean;
+    private double coldMean;
+    private long historyStart;
+    private long historyEnd;
+
+    public DatasetGenerator(DataSource dataSource, DatasetProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    public Summary generate() throws SQLException, InterruptedException {
+        if (!RUNNING.tryLock()) {
+            throw new IllegalStateException("A dataset is already being generated");
+        }
+        try {
+            return load();
+        } finally {
+            RUNNING.unlock();
+        }
+    }
+
+    private Summary load() throws SQLException, InterruptedException {
+        long start = System.currentTimeMillis();
+        long customers = properties.getCustomers();
+        int chunkCustomers = properties.getChunkCustomers();
+        if (customers <= 0 || chunkCustomers <= 0 || properties.getAccountsPerCustomer() <= 0) {
+            throw new IllegalArgumentException("dataset.customers, chunk-customers and accounts-per-customer must be positive");
+        }
+
+        boolean emptyHistory;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            firstCustomerId = 1 + queryLong(statement, "SELECT GREATEST(COALESCE(MAX(customer_id), 0), "
+                    + "(SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM customers_customer_id_seq)) FROM customers");
+            firstAccountId = 1 + queryLong(statement, "SELECT GREATEST(COALESCE(MAX(account_id), 0), "
+                    + "(SELECT CASE WHEN is_called THEN last_value ELSE 0 END FROM accounts_account_id_seq)) FROM accounts");
+            emptyHistory = queryLong(statement, "SELECT COUNT(*) FROM (SELECT 1 FROM transactions LIMIT 1) t") == 0;
+        }
+
+        // Account counts come first in every chunk's stream, so the id ranges are known up front
+        int chunks = (int) ((customers + chunkCustomers - 1) / chunkCustomers);
+        long[] chunkFirstAccount = new long[chunks + 1];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            int[] counts = accountCounts(chunkRandom(chunk), chunkSize(chunk));
+            long total = 0;
+            for (int count : counts) {
+                total += count;
+            }
+            chunkFirstAccount[chunk + 1] = chunkFirstAccount[chunk] + total;
+        }
+        long accounts = chunkFirstAccount[chunks];
+        hotAccounts = (int) Math.min(Math.max(properties.getHotAccounts(), 0), accounts);
+        hotAccountStride = hotAccounts == 0 ? 0 : accounts / hotAccounts;
+        double hotTotal = hotAccounts == 0 ? 0 : properties.getTransactions() * properties.getHotShare();
+        hotMean = hotAccounts == 0 ? 0 : hotTotal / hotAccounts;
+        coldMean = (properties.getTransactions() - hotTotal) / Math.max(1, accounts - hotAccounts);
+        historyEnd = properties.getHistoryEnd().atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+        historyStart = historyEnd - properties.getHistoryDays() * 86_400L;
+
+        log.info("Generating {} customers, {} accounts and about {} transactions in {} chunks on {} threads (seed {})",
+                customers, accounts, properties.getTransactions(), chunks, properties.getThreads(), properties.getSeed());
+
+        // Building the history indexes once at the end is much cheaper than maintaining them row by row
+        Map<String, String> deferredIndexes = emptyHistory ? dropSecondaryIndexes("transactions") : Map.of();
+        AtomicLong transactions = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, properties.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "dataset-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            AtomicInteger done = new AtomicInteger();
+            int progressStep = Math.max(1, chunks / 10);
+            List<Future<?>> futures = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                int current = chunk;
+                futures.add(executor.submit(() -> {
+                    transactions.addAndGet(loadChunk(current, firstAccountId + chunkFirstAccount[current]));
+                    int completed = done.incrementAndGet();
+                    if (completed % progressStep == 0) {
+                        log.info("Dataset: {}/{} chunks, {} transactions", completed, chunks, transactions.get());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    futures.forEach(each -> each.cancel(true));
+                    throw new SQLException("Dataset generation failed: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            try {
+                recreateIndexes(deferredIndexes);
+            } finally {
+                // Chunks that committed before a failure keep their ids, so the sequences move regardless
+                moveSequencesPastLoadedRows();
+            }
+        }
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE customers");
+            statement.execute("ANALYZE accounts");
+            statement.execute("ANALYZE transactions");
+        }
+
+        Summary summary = new Summary(firstCustomerId, firstCustomerId + customers - 1, firstAccountId,
+                firstAccountId + accounts - 1, transactions.get(), hotAccounts, hotAccountStride);
+        log.info("Generated {} customers, {} accounts and {} transactions in {} ms",
+                customers, accounts, transactions.get(), System.currentTimeMillis() - start);
+        return summary;
+    }
+
+    /**
+     * Generate one chunk of customers with their accounts and histories, and load it in one transaction
+     */
+    private long loadChunk(int chunk, long chunkFirstAccountId) throws SQLException, IOException {
+        SplittableRandom random = chunkRandom(chunk);
+        int customerCount = chunkSize(chunk);
+        int[] accountCounts = accountCounts(random, customerCount);
+        int accounts = 0;
+        for (int count : accountCounts) {
+            accounts += count;
+        }
+
+        long[] customerOf = new long[accounts];
+        long[] createdAt = new long[accounts];
+        int[] typeOf = new int[accounts];
+        int[] rateBasisPoints = new int[accounts];
+        long[] ownCents = new long[accounts];
+        long[] incomingCents = new long[accounts];
+
+        StringBuilder customerRows = new StringBuilder(customerCount * 128);
+        long chunkFirstCustomerId = firstCustomerId + (long) chunk * properties.getChunkCustomers();
+        int index = 0;
+        for (int i = 0; i < customerCount; i++) {
+            long customerId = chunkFirstCustomerId + i;
+            long customerSince = historyStart + (long) (random.nextDouble() * (historyEnd - historyStart) / 2);
+            appendCustomer(customerRows, random, customerId, customerSince);
+            for (int n = 0; n < accountCounts[i]; n++, index++) {
+                customerOf[index] = customerId;
+                createdAt[index] = customerSince + (long) (random.nextDouble() * (historyEnd - customerSince) / 3);
+                int draw = random.nextInt(10);
+                typeOf[index] = draw < 5 ? CHECKING : draw < 9 ? SAVINGS : 2;
+                rateBasisPoints[index] = typeOf[index] == CHECKING ? 10
+                        : typeOf[index] == SAVINGS ? 150 + random.nextInt(200) : 400 + random.nextInt(150);
+            }
+        }
+
+        StringBuilder transactionRows = new StringBuilder();
+        long transactions = 0;
+        for (int a = 0; a < accounts; a++) {
+            transactions += appendHistory(transactionRows, random, chunkFirstAccountId, a, accounts, createdAt[a],
+                    typeOf[a], rateBasisPoints[a], ownCents, incomingCents);
+        }
+
+        StringBuilder accountRows = new StringBuilder(accounts * 96);
+        for (int a = 0; a < accounts; a++) {
+            long accountId = chunkFirstAccountId + a;
+            int draw = random.nextInt(100);
+            accountRows.append(accountId).append('\t')
+                    .append(customerOf[a]).append('\t')
+                    // Account validates its number as 8-12 digits
+                    .append(900_000_000_000L + accountId).append('\t')
+                    .append(ACCOUNT_TYPES[typeOf[a]]).append('\t');
+            appendCents(accountRows, ownCents[a] + incomingCents[a]).append('\t')
+                    .append(rateBasisPoints[a] / 10000).append('.').append(String.format("%04d", rateBasisPoints[a] % 10000)).append('\t')
+                    .append(Instant.ofEpochSecond(createdAt[a])).append('\t')
+                    .append(draw < 96 ? "ACTIVE" : draw < 99 ? "INACTIVE" : "SUSPENDED").append('\n');
+        }
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+                // Parents first, the foreign keys are checked row by row
+                copy.copyIn(CUSTOMERS_COPY, new StringReader(customerRows.toString()));
+                copy.copyIn(ACCOUNTS_COPY, new StringReader(accountRows.toString()));
+                copy.copyIn(TRANSACTIONS_COPY, new StringReader(transactionRows.toString()));
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+        return transactions;
+    }
+
+    private void appendCustomer(StringBuilder rows, SplittableRandom random, long customerId, long customerSince) {
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        LocalDate dateOfBirth = LocalDate.of(1945, 1, 1).plusDays(random.nextInt(60 * 365));
+        rows.append(customerId).append('\t')
+                .append(firstName).append('\t')
+                .append(lastName).append('\t')
+                .append(1 + random.nextInt(9999)).append(' ').append(STREETS[random.nextInt(STREETS.length)])
+                .append(", ").append(CITIES[random.nextInt(CITIES.length)]).append('\t')
+                // Unique by id, like the email
+                .append("+1").append(2_000_000_000L + customerId).append('\t')
+                .append(firstName.toLowerCase()).append('.').append(lastName.toLowerCase()).append(customerId)
+                .append("@example.com").append('\t')
+                .append(dateOfBirth).append('\t')
+                .append(Instant.ofEpochSecond(customerSince)).append('\t')
+                .append(random.nextInt(50) == 0 ? 'f' : 't').append('\n');
+    }
+
+    /**
+     * Append one account's history in time order and return its length. Debits are checked against
+     * the account's own history only; transfers in from other accounts are added on top afterwards,
+     * so no point in the timeline is overdrawn whatever order the accounts are generated in.
+     */
+    private int appendHistory(StringBuilder rows, SplittableRandom random, long chunkFirstAccountId, int a, int accounts,
+                              long createdAt, int type, int rateBasisPoints, long[] ownCents, long[] incomingCents) {
+        long accountId = chunkFirstAccountId + a;
+        long global = accountId - firstAccountId;
+        boolean hot = hotAccountStride > 0 && global % hotAccountStride == 0 && global / hotAccountStride < hotAccounts;
+        double sigma = hot ? 0.25 : 1.0;
+        double mean = hot ? hotMean : coldMean;
+        int length = (int) Math.max(1, Math.min(Integer.MAX_VALUE,
+                Math.round(mean * Math.exp(sigma * random.nextGaussian() - sigma * sigma / 2))));
+
+        double meanGapSeconds = (double) (historyEnd - createdAt) / (length + 1);
+        long time = createdAt;
+        long balance = 0;
+        for (int h = 0; h < length; h++) {
+            time = Math.min(historyEnd - 1, time + Math.max(1, (long) (-Math.log(1 - random.nextDouble()) * meanGapSeconds)));
+            String transactionType;
+            long cents;
+            long destination = -1;
+            String description;
+            int draw = h == 0 ? 0 : random.nextInt(100);
+            if (draw >= 40 && draw < 92 && balance < 100) {
+                draw = 0;
+            }
+            if (draw >= 92 && type == CHECKING) {
+                draw = 0;
+            }
+            if (draw >= 72 && draw < 92 && accounts < 2) {
+                draw = 40;
+            }
+            if (draw < 40) {
+                transactionType = "DEPOSIT";
+                cents = logNormalCents(random, h == 0 ? 100_000 : 15_000);
+                description = h == 0 ? "Opening deposit" : DEPOSIT_DESCRIPTIONS[random.nextInt(DEPOSIT_DESCRIPTIONS.length)];
+            } else if (draw < 72) {
+                transactionType = "WITHDRAWAL";
+                cents = 1 + random.nextLong(balance / 2);
+                description = WITHDRAWAL_DESCRIPTIONS[random.nextInt(WITHDRAWAL_DESCRIPTIONS.length)];
+            } else if (draw < 92) {
+                transactionType = "TRANSFER";
+                cents = 1 + random.nextLong(balance / 2);
+                int other = random.nextInt(accounts - 1);
+                destination = other >= a ? other + 1 : other;
+                description = "Transfer to " + (900_000_000_000L + chunkFirstAccountId + destination);
+            } else {
+                transactionType = "INTEREST_CREDIT";
+                cents = Math.max(1, balance * rateBasisPoints / 120_000);
+                description = "Monthly interest";
+            }
+
+            boolean failed = h > 0 && random.nextInt(200) == 0;
+            if (!failed) {
+                if ("DEPOSIT".equals(transactionType) || "INTEREST_CREDIT".equals(transactionType)) {
+                    balance += cents;
+                } else {
+                    balance -= cents;
+                    if (destination >= 0) {
+                        incomingCents[(int) destination] += cents;
+                    }
+                }
+            }
+
+            rows.append(accountId).append('\t').append(transactionType).append('\t');
+            appendCents(rows, cents).append('\t')
+                    .append(Instant.ofEpochSecond(time)).append('\t')
+                    .append(description).append('\t');
+            if (destination >= 0) {
+                rows.append(chunkFirstAccountId + destination);
+            } else {
+                rows.append("\\N");
+            }
+            rows.append('\t').append(failed ? "FAILED" : "COMPLETED").append('\n');
+        }
+        ownCents[a] = balance;
+        return length;
+    }
+
+    private SplittableRandom chunkRandom(int chunk) {
+        return new SplittableRandom(properties.getSeed() * 0x9E3779B97F4A7C15L + chunk);
+    }
+
+    private int chunkSize(int chunk) {
+        long remaining = properties.getCustomers() - (long) chunk * properties.getChunkCustomers();
+        return (int) Math.min(properties.getChunkCustomers(), remaining);
+    }
+
+    private int[] accountCounts(SplittableRandom random, int customers) {
+        int spread = 2 * properties.getAccountsPerCustomer() - 1;
+        int[] counts = new int[customers];
+        for (int i = 0; i < customers; i++) {
+            counts[i] = 1 + random.nextInt(spread);
+        }
+        return counts;
+    }
+
+    private static long logNormalCents(SplittableRandom random, long median) {
+        return Math.max(100, Math.min(5_000_000, Math.round(median * Math.exp(random.nextGaussian()))));
+    }
+
+    private static StringBuilder appendCents(StringBuilder rows, long cents) {
+        rows.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) {
+            rows.append('0');
+        }
+        return rows.append(fraction);
+    }
+
+    private void moveSequencesPastLoadedRows() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SELECT setval('customers_customer_id_seq', (SELECT MAX(customer_id) FROM customers))");
+            statement.execute("SELECT setval('accounts_account_id_seq', (SELECT MAX(account_id) FROM accounts))");
+        }
+    }
+
+    private Map<String, String> dropSecondaryIndexes(String table) throws SQLException {
+        Map<String, String> indexes = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SELECT indexname, indexdef FROM pg_indexes "
+                    + "WHERE schemaname = 'public' AND tablename = '" + table + "' "
+                    + "AND indexname NOT IN (SELECT conname FROM pg_constraint)")) {
+                while (rs.next()) {
+                    indexes.put(rs.getString(1), rs.getString(2));
+                }
+            }
+            for (String name : indexes.keySet()) {
+                statement.execute("DROP INDEX IF EXISTS " + name);
+            }
+        }
+        log.info("Dropped {} indexes on {} for the load", indexes.size(), table);
+        return indexes;
+    }
+
+    private void recreateIndexes(Map<String, String> indexes) throws SQLException {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET maintenance_work_mem = '512MB'");
+            for (String definition : indexes.values()) {
+                statement.execute(definition);
+            }
+            statement.execute("RESET maintenance_work_mem");
+        }
+        log.info("Recreated {} indexes in {} ms", indexes.size(), System.currentTimeMillis() - start);
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
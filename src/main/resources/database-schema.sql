@@ -1,89 +0,0 @@
--- Bank Management System Database Schema
--- This file is automatically executed when the application starts
--- You can modify this file and restart the application to update your database
-
--- Add status column to existing transactions table if it doesn't exist
-ALTER TABLE transactions ADD COLUMN IF NOT EXISTS status VARCHAR(20) DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED'));
-
--- Update existing transactions to have COMPLETED status (assuming they were processed successfully)
-UPDATE transactions SET status = 'COMPLETED' WHERE status IS NULL OR status = 'PENDING';
-
--- Create customers table
-CREATE TABLE IF NOT EXISTS customers (
-    customer_id BIGSERIAL PRIMARY KEY,
-    first_name VARCHAR(50) NOT NULL,
-    last_name VARCHAR(50) NOT NULL,
-    address VARCHAR(100),
-    phone VARCHAR(15) UNIQUE NOT NULL,
-    email VARCHAR(50) UNIQUE NOT NULL,
-    date_of_birth DATE NOT NULL,
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    is_active BOOLEAN DEFAULT TRUE
-);
-
--- Create accounts table
-CREATE TABLE IF NOT EXISTS accounts (
-    account_id BIGSERIAL PRIMARY KEY,
-    customer_id BIGINT NOT NULL,
-    account_number VARCHAR(20) UNIQUE NOT NULL,
-    account_type VARCHAR(20) NOT NULL CHECK (account_type IN ('SAVINGS', 'CHECKING', 'FIXED_DEPOSIT')),
-    balance DECIMAL(15, 2) DEFAULT 0.00,
-    interest_rate DECIMAL(5, 4) DEFAULT 0.0000,
-    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    status VARCHAR(20) DEFAULT 'ACTIVE' CHECK (status IN ('ACTIVE', 'INACTIVE', 'CLOSED', 'SUSPENDED')),
-    FOREIGN KEY (customer_id) REFERENCES customers(customer_id) ON DELETE CASCADE
-);
-
--- Create transactions table
-CREATE TABLE IF NOT EXISTS transactions (
-    transaction_id BIGSERIAL PRIMARY KEY,
-    account_id BIGINT NOT NULL,
-    transaction_type VARCHAR(20) NOT NULL CHECK (transaction_type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER', 'INTEREST_CREDIT')),
-    amount DECIMAL(15, 2) NOT NULL,
-    transaction_date TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
-    description VARCHAR(100),
-    destination_account_id BIGINT,
-    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED')),
-    FOREIGN KEY (account_id) REFERENCES accounts(account_id),
-    FOREIGN KEY (destination_account_id) REFERENCES accounts(account_id)
-);
-
--- Create indexes for better performance
-CREATE INDEX IF NOT EXISTS idx_customers_email ON customers(email);
-CREATE INDEX IF NOT EXISTS idx_customers_phone ON customers(phone);
-CREATE INDEX IF NOT EXISTS idx_customers_is_active ON customers(is_active);
-CREATE INDEX IF NOT EXISTS idx_accounts_customer_id ON accounts(customer_id);
-CREATE INDEX IF NOT EXISTS idx_accounts_status ON accounts(status);
-CREATE INDEX IF NOT EXISTS idx_transactions_account_id ON transactions(account_id);
-CREATE INDEX IF NOT EXISTS idx_transactions_date ON transactions(transaction_date);
-CREATE INDEX IF NOT EXISTS idx_transactions_status ON transactions(status);
-
--- No sample data - empty tables
-
--- Create a view for account summary
-CREATE OR REPLACE VIEW account_summary AS
-SELECT 
-    a.account_id,
-    a.account_number,
-    a.account_type,
-    a.balance,
-    a.status,
-    a.created_at,
-    c.first_name || ' ' || c.last_name as customer_name,
-    c.email as customer_email
-FROM accounts a
-JOIN customers c ON a.customer_id = c.customer_id;
-
--- Create a view for transaction summary
-CREATE OR REPLACE VIEW transaction_summary AS
-SELECT 
-    t.transaction_id,
-    t.transaction_type,
-    t.amount,
-    t.transaction_date,
-    t.description,
-    a.account_number,
-    c.first_name || ' ' || c.last_name as customer_name
-FROM transactions t
-JOIN accounts a ON t.account_id = a.account_id
-JOIN customers c ON a.customer_id = c.customer_id;
@@ -0,0 +1,166 @@
+-- Bank Management System baseline schema
+-- Applied once by SchemaMigrator and recorded in schema_version. Do not edit an applied
+-- script; add the next V<n>__<description>.sql instead.
+-- Every statement is idempotent so databases created before versioning are adopted as they are.
+
+-- Create customers table
+CREATE TABLE IF NOT EXISTS customers (
+    customer_id BIGSERIAL PRIMARY KEY,
+    first_name VARCHAR(50) NOT NULL,
+    last_name VARCHAR(50) NOT NULL,
+    address VARCHAR(100),
+    phone VARCHAR(15) UNIQUE NOT NULL,
+    email VARCHAR(50) UNIQUE NOT NULL,
+    date_of_birth DATE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    is_active BOOLEAN DEFAULT TRUE
+);
+
+-- Create accounts table
+CREATE TABLE IF NOT EXISTS accounts (
+    account_id BIGSERIAL PRIMARY KEY,
+    customer_id BIGINT NOT NULL,
+    account_number VARCHAR(20) UNIQUE NOT NULL,
+    account_type VARCHAR(20) NOT NULL CHECK (account_type IN ('SAVINGS', 'CHECKING', 'FIXED_DEPOSIT')),
+    balance DECIMAL(15, 2) DEFAULT 0.00,
+    interest_rate DECIMAL(5, 4) DEFAULT 0.0000,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    status VARCHAR(20) DEFAULT 'ACTIVE' CHECK (status IN ('ACTIVE', 'INACTIVE', 'CLOSED', 'SUSPENDED')),
+    FOREIGN KEY (customer_id) REFERENCES customers(customer_id) ON DELETE CASCADE
+);
+
+-- Create transactions table
+CREATE TABLE IF NOT EXISTS transactions (
+    transaction_id BIGSERIAL PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL CHECK (transaction_type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER', 'INTEREST_CREDIT')),
+    amount DECIMAL(15, 2) NOT NULL,
+    transaction_date TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    description VARCHAR(100),
+    destination_account_id BIGINT,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED')),
+    FOREIGN KEY (account_id) REFERENCES accounts(account_id),
+    FOREIGN KEY (destination_account_id) REFERENCES accounts(account_id)
+);
+
+-- Databases from before the status column: existing rows were processed, so they take
+-- COMPLETED as a constant default (kept in the catalog, no table rewrite or UPDATE), new rows PENDING
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema() AND table_name = 'transactions' AND column_name = 'status') THEN
+        ALTER TABLE transactions ADD COLUMN status VARCHAR(20) NOT NULL DEFAULT 'COMPLETED'
+            CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED'));
+        ALTER TABLE transactions ALTER COLUMN status SET DEFAULT 'PENDING';
+    END IF;
+END $$;
+
+-- Create staff users and roles
+CREATE TABLE IF NOT EXISTS roles (
+    role_id BIGSERIAL PRIMARY KEY,
+    role_name VARCHAR(20) UNIQUE NOT NULL CHECK (role_name IN ('ROLE_ADMIN', 'ROLE_MANAGER', 'ROLE_TELLER', 'ROLE_CUSTOMER')),
+    description VARCHAR(100)
+);
+
+INSERT INTO roles (role_name, description) VALUES
+    ('ROLE_ADMIN', 'Administrator'),
+    ('ROLE_MANAGER', 'Branch manager'),
+    ('ROLE_TELLER', 'Teller'),
+    ('ROLE_CUSTOMER', 'Customer')
+ON CONFLICT (role_name) DO NOTHING;
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id BIGSERIAL PRIMARY KEY,
+    username VARCHAR(50) UNIQUE NOT NULL,
+    password VARCHAR(100) NOT NULL,
+    email VARCHAR(50) UNIQUE NOT NULL,
+    first_name VARCHAR(50),
+    last_name VARCHAR(50),
+    is_enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    is_account_non_expired BOOLEAN NOT NULL DEFAULT TRUE,
+    is_account_non_locked BOOLEAN NOT NULL DEFAULT TRUE,
+    is_credentials_non_expired BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    last_login TIMESTAMP WITH TIME ZONE
+);
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (user_id, role_id),
+    FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE,
+    FOREIGN KEY (role_id) REFERENCES roles(role_id) ON DELETE CASCADE
+);
+
+-- Create balance slots for accounts in sharded-balance mode
+CREATE TABLE IF NOT EXISTS account_balance_slots (
+    account_id BIGINT NOT NULL,
+    slot INTEGER NOT NULL,
+    balance DECIMAL(15, 2) NOT NULL DEFAULT 0.00,
+    PRIMARY KEY (account_id, slot),
+    FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE
+);
+
+-- Create outbox for transaction events, drained by the outbox relay
+CREATE TABLE IF NOT EXISTS outbox (
+    event_id BIGSERIAL PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Enable trigram matching for customer name search (skipped with a warning if not permitted)
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION WHEN insufficient_privilege OR undefined_file THEN
+    RAISE WARNING 'pg_trgm is not available, customer name search falls back to ILIKE';
+END $$;
+
+-- Create indexes for better performance
+CREATE INDEX IF NOT EXISTS idx_customers_email ON customers(email);
+CREATE INDEX IF NOT EXISTS idx_customers_phone ON customers(phone);
+CREATE INDEX IF NOT EXISTS idx_customers_is_active ON customers(is_active);
+CREATE INDEX IF NOT EXISTS idx_accounts_customer_id ON accounts(customer_id);
+CREATE INDEX IF NOT EXISTS idx_accounts_status ON accounts(status);
+CREATE INDEX IF NOT EXISTS idx_transactions_account_id ON transactions(account_id);
+CREATE INDEX IF NOT EXISTS idx_transactions_date ON transactions(transaction_date);
+CREATE INDEX IF NOT EXISTS idx_transactions_account_date ON transactions(account_id, transaction_date DESC);
+CREATE INDEX IF NOT EXISTS idx_transactions_status ON transactions(status);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_customers_name_trgm ON customers USING gin ((first_name || ' ' || last_name) gin_trgm_ops);
+    END IF;
+END $$;
+
+-- Create a view for account summary
+CREATE OR REPLACE VIEW account_summary AS
+SELECT 
+    a.account_id,
+    a.account_number,
+    a.account_type,
+    a.balance,
+    a.status,
+    a.created_at,
+    c.first_name || ' ' || c.last_name as customer_name,
+    c.email as customer_email
+FROM accounts a
+JOIN customers c ON a.customer_id = c.customer_id;
+
+-- Create a view for transaction summary
+CREATE OR REPLACE VIEW transaction_summary AS
+SELECT 
+    t.transaction_id,
+    t.transaction_type,
+    t.amount,
+    t.transaction_date,
+    t.description,
+    a.account_number,
+    c.first_name || ' ' || c.last_name as customer_name
+FROM transactions t
+JOIN accounts a ON t.account_id = a.account_id
+JOIN customers c ON a.customer_id = c.customer_id;
@@ -0,0 +1,18 @@
+-- Delivery state for the outbox relay: rows are claimed with a lease instead of being held
+-- locked while the sinks run, and failures are counted per event
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS locked_until TIMESTAMP WITH TIME ZONE;
+ALTER TABLE outbox ADD COLUMN IF NOT EXISTS last_error TEXT;
+
+-- Events that failed outbox.relay.max-attempts times on their own, kept for inspection and replay
+CREATE TABLE IF NOT EXISTS outbox_dead_letter (
+    event_id BIGINT PRIMARY KEY,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE,
+    attempts INTEGER NOT NULL,
+    last_error TEXT,
+    parked_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,7 @@
+-- Written by the primary on every replica lag check; its age on the replica is the replication lag
+CREATE TABLE IF NOT EXISTS replica_heartbeat (
+    id INTEGER PRIMARY KEY,
+    beat_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, CURRENT_TIMESTAMP) ON CONFLICT (id) DO NOTHING;
@@ -0,0 +1,170 @@
+package com.bankmanagement.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * The customer overview must issue the same number of statements however many accounts
+ * and transactions the customer has. Runs the full application against an embedded
+ * PostgreSQL and counts the statements the calling thread sends through the pool.
+ * The context is closed after the class, while the database is still up; the database
+ * itself is stopped by its shutdown hook.
+ */
+@SpringBootTest
+@DirtiesContext
+class CustomerOverviewQueryCountTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ShardedBalanceService shardedBalanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @TestConfiguration
+    static class StatementCounting {
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource) {
+                        return ProxyDataSourceBuilder.create(dataSource).name("counting").countQuery().build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    @BeforeAll
+    static void requireNonRootUser() {
+        // initdb refuses to run as root
+        assumeFalse("root".equals(System.getProperty("user.name")), "Embedded PostgreSQL cannot run as root");
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("DATABASE_URL", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("DATABASE_USERNAME", () -> "postgres");
+        registry.add("DATABASE_PASSWORD", () -> "postgres");
+    }
+
+    @Test
+    void overviewUsesTwoStatementsRegardlessOfAccountCount() {
+        long small = createCustomer(1, 3);
+        long large = createCustomer(8, 15);
+
+        assertEquals(2, countStatements(() -> customerService.getCustomerOverview(small, 5)));
+        assertEquals(2, countStatements(() -> customerService.getCustomerOverview(large, 5)));
+    }
+
+    @Test
+    void overviewOfCustomerWithoutAccountsLooksUpTheCustomer() {
+        long customerId = createCustomer(0, 0);
+
+        assertEquals(2, countStatements(() -> customerService.getCustomerOverview(customerId, 5)));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shardedAccountsAddOneSlotSumRegardlessOfCount() {
+        long small = createCustomer(1, 1);
+        long large = createCustomer(6, 1);
+        for (long customerId : List.of(small, large)) {
+            for (Long accountId : jdbcTemplate.queryForList(
+                    "SELECT account_id FROM accounts WHERE customer_id = ?", Long.class, customerId)) {
+                shardedBalanceService.enable(accountId, 4);
+                shardedBalanceService.credit(accountId, new BigDecimal("5.00"));
+            }
+        }
+
+        assertEquals(3, countStatements(() -> customerService.getCustomerOverview(small, 5)));
+        assertEquals(3, countStatements(() -> customerService.getCustomerOverview(large, 5)));
+
+        List<Map<String, Object>> accounts = (List<Map<String, Object>>) customerService
+                .getCustomerOverview(large, 5).orElseThrow().get("accounts");
+        for (Map<String, Object> account : accounts) {
+            assertEquals(0, new BigDecimal("105.00").compareTo((BigDecimal) account.get("balance")));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void recentTransactionLimitAppliesPerAccount() {
+        long customerId = createCustomer(3, 4);
+
+        Map<String, Object> overview = customerService.getCustomerOverview(customerId, 2).orElseThrow();
+
+        List<Map<String, Object>> accounts = (List<Map<String, Object>>) overview.get("accounts");
+        assertEquals(3, accounts.size());
+        for (Map<String, Object> account : accounts) {
+            assertEquals(2, ((List<?>) account.get("recentTransactions")).size());
+        }
+    }
+
+    @Test
+    void unknownCustomerIsEmpty() {
+        assertTrue(customerService.getCustomerOverview(Long.MAX_VALUE, 5).isEmpty());
+    }
+
+    private long countStatements(Runnable action) {
+        QueryCountHolder.clear();
+        action.run();
+        long total = QueryCountHolder.getGrandTotal().getTotal();
+        QueryCountHolder.clear();
+        return total;
+    }
+
+    private long createCustomer(int accounts, int transactionsPerAccount) {
+        int n = SEQUENCE.incrementAndGet();
+        Long customerId = jdbcTemplate.queryForObject(
+                "INSERT INTO customers (first_name, last_name, phone, email, date_of_birth) " +
+                "VALUES ('Test', ?, ?, ?, DATE '1990-01-01') RETURNING customer_id",
+                Long.class, "Customer" + n, "555" + String.format("%07d", n), "overview" + n + "@example.com");
+        for (int a = 0; a < accounts; a++) {
+            Long accountId = jdbcTemplate.queryForObject(
+                    "INSERT INTO accounts (customer_id, account_number, account_type, balance) " +
+                    "VALUES (?, ?, 'SAVINGS', 100.00) RETURNING account_id",
+                    Long.class, customerId, String.format("9%04d%05d", n, a));
+            for (int t = 0; t < transactionsPerAccount; t++) {
+                jdbcTemplate.update(
+                        "INSERT INTO transactions (account_id, transaction_type, amount, status, transaction_date) " +
+                        "VALUES (?, 'DEPOSIT', 10.00, 'COMPLETED', now() - make_interval(mins => ?))",
+                        accountId, t);
+            }
+        }
+        return customerId;
+    }
+}
@@ -0,0 +1,159 @@
+package com.bankmanagement.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Money moved through sharded balances must add up: concurrent credits land in the slots,
+ * debits fold them when the row alone is short, and folding or turning sharding off moves
+ * the slots into the account row without creating or losing any amount. Runs against an
+ * embedded PostgreSQL, like CustomerOverviewQueryCountTest.
+ */
+@SpringBootTest
+@DirtiesContext
+class ShardedBalanceServiceTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private ShardedBalanceService shardedBalanceService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    static void requireNonRootUser() {
+        // initdb refuses to run as root
+        assumeFalse("root".equals(System.getProperty("user.name")), "Embedded PostgreSQL cannot run as root");
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        registry.add("DATABASE_URL", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("DATABASE_USERNAME", () -> "postgres");
+        registry.add("DATABASE_PASSWORD", () -> "postgres");
+    }
+
+    @Test
+    void concurrentTransfersIntoShardedAccountKeepTheTotal() throws Exception {
+        long source = createAccount("1000.00");
+        long target = createAccount("50.00");
+        shardedBalanceService.enable(target, 8);
+        BigDecimal before = balance(source).add(balance(target));
+
+        int threads = 8;
+        int transfersPerThread = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < transfersPerThread; i++) {
+                        transactionTemplate.executeWithoutResult(status -> {
+                            shardedBalanceService.debit(source, new BigDecimal("2.00"));
+                            shardedBalanceService.credit(target, new BigDecimal("2.00"));
+                        });
+                    }
+                }));
+            }
+            // Fold while the credits are still arriving
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5; i++) {
+                    shardedBalanceService.foldAll();
+                }
+            }));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        BigDecimal moved = new BigDecimal("2.00").multiply(BigDecimal.valueOf((long) threads * transfersPerThread));
+        assertEquals(0, balance(source).add(effectiveBalance(target)).compareTo(before));
+        assertEquals(0, effectiveBalance(target).compareTo(new BigDecimal("50.00").add(moved)));
+
+        shardedBalanceService.disable(target);
+
+        assertFalse(shardedBalanceService.isSharded(target));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM account_balance_slots WHERE account_id = ?", Integer.class, target));
+        assertEquals(0, balance(source).add(balance(target)).compareTo(before));
+    }
+
+    @Test
+    void debitFoldsSlotsWhenTheRowAloneIsShort() {
+        long account = createAccount("10.00");
+        shardedBalanceService.enable(account, 4);
+        for (int i = 0; i < 6; i++) {
+            shardedBalanceService.credit(account, new BigDecimal("5.00"));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> shardedBalanceService.debit(account, new BigDecimal("35.00")));
+
+        assertEquals(0, effectiveBalance(account).compareTo(new BigDecimal("5.00")));
+        assertEquals(0, shardedBalanceService.getUnfoldedBalance(account).signum());
+    }
+
+    @Test
+    void totalBalanceIncludesUnfoldedSlots() {
+        long account = createAccount("20.00");
+        BigDecimal before = BigDecimal.valueOf(accountService.getTotalBalance());
+        shardedBalanceService.enable(account, 4);
+        shardedBalanceService.credit(account, new BigDecimal("7.00"));
+
+        BigDecimal after = BigDecimal.valueOf(accountService.getTotalBalance());
+
+        assertEquals(0, after.subtract(before).compareTo(new BigDecimal("7.00")));
+    }
+
+    private BigDecimal balance(long accountId) {
+        return jdbcTemplate.queryForObject("SELECT balance FROM accounts WHERE account_id = ?", BigDecimal.class, accountId);
+    }
+
+    private BigDecimal effectiveBalance(long accountId) {
+        return balance(accountId).add(shardedBalanceService.getUnfoldedBalance(accountId));
+    }
+
+    private long createAccount(String balance) {
+        int n = SEQUENCE.incrementAndGet();
+        Long customerId = jdbcTemplate.queryForObject(
+                "INSERT INTO customers (first_name, last_name, phone, email, date_of_birth) " +
+                "VALUES ('Test', ?, ?, ?, DATE '1990-01-01') RETURNING customer_id",
+                Long.class, "Sharded" + n, "556" + String.format("%07d", n), "sharded" + n + "@example.com");
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO accounts (customer_id, account_number, account_type, balance) " +
+                "VALUES (?, ?, 'CHECKING', ?) RETURNING account_id",
+                Long.class, customerId, String.format("8%09d", n), new BigDecimal(balance));
+    }
+}